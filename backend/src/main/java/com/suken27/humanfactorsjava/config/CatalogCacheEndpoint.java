@@ -0,0 +1,51 @@
+package com.suken27.humanfactorsjava.config;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.suken27.humanfactorsjava.model.dto.CacheRegionDto;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Actuator endpoint with the hits and misses of each region of the
+ * second-level cache, which holds the human factor catalog. Hibernate only
+ * collects them with the statistics profile, so the endpoint returns no
+ * regions without it.
+ */
+@Component
+@Endpoint(id = "catalogcache")
+public class CatalogCacheEndpoint {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, CacheRegionDto> regions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, CacheRegionDto> regions = new TreeMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regions;
+        }
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(regionName);
+            CacheRegionDto region = new CacheRegionDto();
+            region.setHits(regionStatistics.getHitCount());
+            region.setMisses(regionStatistics.getMissCount());
+            region.setPuts(regionStatistics.getPutCount());
+            long requests = region.getHits() + region.getMisses();
+            region.setHitRatio(requests == 0 ? 0 : (double) region.getHits() / requests);
+            regions.put(regionName, region);
+        }
+        return regions;
+    }
+
+}
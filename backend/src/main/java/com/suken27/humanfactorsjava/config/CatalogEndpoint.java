@@ -0,0 +1,33 @@
+package com.suken27.humanfactorsjava.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.suken27.humanfactorsjava.model.HumanFactorFactory;
+import com.suken27.humanfactorsjava.model.dto.CatalogDto;
+
+/**
+ * Actuator endpoint to reload the human factor catalog from the database
+ * without a restart (POST) and check the version in use (GET).
+ */
+@Component
+@Endpoint(id = "catalog")
+public class CatalogEndpoint {
+
+    @Autowired
+    private HumanFactorFactory humanFactorFactory;
+
+    @ReadOperation
+    public CatalogDto catalog() {
+        return new CatalogDto(humanFactorFactory.getCatalog());
+    }
+
+    @WriteOperation
+    public CatalogDto reload() {
+        return new CatalogDto(humanFactorFactory.reload());
+    }
+
+}
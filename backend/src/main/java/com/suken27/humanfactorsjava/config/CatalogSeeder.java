@@ -0,0 +1,326 @@
+package com.suken27.humanfactorsjava.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the human factor catalog (data.sql) into the database. The checksum of
+ * the catalog applied last is stored, so startups with an unchanged catalog only
+ * read it. When it changed, the catalog is compared with the database and only
+ * the differences are written, with batched statements in a single
+ * transaction:
+ * <ul>
+ * <li>Rows of tables with an id column are inserted or updated by id. Rows
+ * removed from the catalog are kept, as teams may still refer to them.</li>
+ * <li>Rows of the association tables are inserted or deleted.</li>
+ * </ul>
+ * The catalog must contain single-row INSERT statements, one per line.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class CatalogSeeder {
+
+    private static final String CATALOG = "data.sql";
+    private static final String ID_COLUMN = "id";
+    private static final int BATCH_SIZE = 100;
+    private static final Pattern INSERT = Pattern
+            .compile("(?i)INSERT\\s+INTO\\s+(\\w+)\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\((.*)\\)\\s*;?\\s*");
+    private static final String CREATE_CHECKSUM_TABLE = "CREATE TABLE IF NOT EXISTS catalog_checksum ("
+            + "checksum VARCHAR(64) NOT NULL PRIMARY KEY, applied_on TIMESTAMP NOT NULL)";
+    private static final String SELECT_CHECKSUM = "SELECT checksum FROM catalog_checksum";
+    private static final String DELETE_CHECKSUM = "DELETE FROM catalog_checksum";
+    private static final String INSERT_CHECKSUM = "INSERT INTO catalog_checksum (checksum, applied_on) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Rows of a catalog table.
+     */
+    private record CatalogTable(String name, List<String> columns, List<Object[]> rows) {
+
+        boolean hasId() {
+            return columns.get(0).equals(ID_COLUMN);
+        }
+
+    }
+
+    @PostConstruct
+    public void seedOnStartup() {
+        // MySQL commits DDL statements, so the table is created once here instead of
+        // in a transaction that may be rolled back
+        jdbcTemplate.execute(CREATE_CHECKSUM_TABLE);
+        seed();
+    }
+
+    /**
+     * @return Checksum of the catalog applied last, or null if it was never
+     *         applied.
+     */
+    public String getAppliedChecksum() {
+        List<String> appliedChecksums = jdbcTemplate.queryForList(SELECT_CHECKSUM, String.class);
+        return appliedChecksums.isEmpty() ? null : appliedChecksums.get(0);
+    }
+
+    /**
+     * @return Amount of rows written, 0 if the catalog did not change since it was
+     *         last applied.
+     */
+    public int seed() {
+        byte[] catalog = readCatalog();
+        String checksum = checksum(catalog);
+        List<String> appliedChecksums = jdbcTemplate.queryForList(SELECT_CHECKSUM, String.class);
+        if (appliedChecksums.contains(checksum)) {
+            log.debug("Catalog [{}] already applied", checksum);
+            return 0;
+        }
+        Map<String, CatalogTable> tables = parse(new String(catalog, StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        int written = transactionTemplate.execute(status -> {
+            int rows = 0;
+            // Referenced rows first, so the associations can be inserted
+            for (CatalogTable table : tables.values()) {
+                if (table.hasId()) {
+                    rows += applyById(table);
+                }
+            }
+            for (CatalogTable table : tables.values()) {
+                if (!table.hasId()) {
+                    rows += applyByRow(table);
+                }
+            }
+            jdbcTemplate.update(DELETE_CHECKSUM);
+            jdbcTemplate.update(INSERT_CHECKSUM, checksum, Timestamp.valueOf(LocalDateTime.now()));
+            return rows;
+        });
+        log.info("Catalog [{}] applied, [{}] rows written in [{}] ms", checksum, written,
+                (System.nanoTime() - start) / 1000000);
+        return written;
+    }
+
+    private int applyById(CatalogTable table) {
+        Map<Object, Object[]> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT " + String.join(", ", table.columns()) + " FROM " + table.name(),
+                resultSet -> {
+                    Object[] row = new Object[table.columns().size()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = resultSet.getObject(i + 1);
+                    }
+                    existing.put(normalize(row[0]), row);
+                });
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Object[] row : table.rows()) {
+            Object[] existingRow = existing.get(normalize(row[0]));
+            if (existingRow == null) {
+                inserts.add(row);
+            } else if (!sameRow(row, existingRow)) {
+                // The id goes last, in the WHERE clause
+                Object[] update = Arrays.copyOf(Arrays.copyOfRange(row, 1, row.length), row.length);
+                update[row.length - 1] = row[0];
+                updates.add(update);
+            }
+        }
+        List<String> updatedColumns = table.columns().subList(1, table.columns().size());
+        batchUpdate(insertStatement(table), inserts);
+        batchUpdate("UPDATE " + table.name() + " SET " + String.join(" = ?, ", updatedColumns) + " = ? WHERE "
+                + ID_COLUMN + " = ?", updates);
+        log.debug("Catalog table [{}]: [{}] inserted, [{}] updated", table.name(), inserts.size(), updates.size());
+        return inserts.size() + updates.size();
+    }
+
+    private int applyByRow(CatalogTable table) {
+        Set<List<Object>> existing = new HashSet<>();
+        jdbcTemplate.query("SELECT " + String.join(", ", table.columns()) + " FROM " + table.name(),
+                resultSet -> {
+                    List<Object> row = new ArrayList<>();
+                    for (int i = 0; i < table.columns().size(); i++) {
+                        row.add(normalize(resultSet.getObject(i + 1)));
+                    }
+                    existing.add(row);
+                });
+        List<Object[]> inserts = new ArrayList<>();
+        for (Object[] row : table.rows()) {
+            if (!existing.remove(normalizedRow(row))) {
+                inserts.add(row);
+            }
+        }
+        // Rows left were removed from the catalog
+        List<Object[]> deletes = existing.stream().map(List::toArray).toList();
+        batchUpdate("DELETE FROM " + table.name() + " WHERE " + String.join(" = ? AND ", table.columns()) + " = ?",
+                deletes);
+        batchUpdate(insertStatement(table), inserts);
+        log.debug("Catalog table [{}]: [{}] inserted, [{}] deleted", table.name(), inserts.size(), deletes.size());
+        return inserts.size() + deletes.size();
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static String insertStatement(CatalogTable table) {
+        return "INSERT INTO " + table.name() + " (" + String.join(", ", table.columns()) + ") VALUES ("
+                + String.join(", ", table.columns().stream().map(column -> "?").toList()) + ")";
+    }
+
+    private static boolean sameRow(Object[] catalogRow, Object[] storedRow) {
+        return normalizedRow(catalogRow).equals(normalizedRow(storedRow));
+    }
+
+    private static List<Object> normalizedRow(Object[] row) {
+        return Arrays.stream(row).map(CatalogSeeder::normalize).toList();
+    }
+
+    /**
+     * Drivers return numbers and flags with different types, so they are compared
+     * as longs.
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof Boolean flag) {
+            return flag ? 1L : 0L;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return value;
+    }
+
+    /**
+     * @return Tables of the catalog, in the order they first appear.
+     */
+    private static Map<String, CatalogTable> parse(String catalog) {
+        Map<String, CatalogTable> tables = new LinkedHashMap<>();
+        for (String line : catalog.split("\\R")) {
+            String statement = line.trim();
+            if (statement.isEmpty() || statement.startsWith("--")) {
+                continue;
+            }
+            Matcher matcher = INSERT.matcher(statement);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Unsupported catalog statement: " + statement);
+            }
+            List<String> columns = Arrays.stream(matcher.group(2).split(",")).map(String::trim).toList();
+            List<Object> values = parseValues(matcher.group(3));
+            if (values.size() != columns.size()) {
+                throw new IllegalStateException("Columns and values do not match: " + statement);
+            }
+            // The id is moved to the first column
+            int idColumn = columns.indexOf(ID_COLUMN);
+            if (idColumn > 0) {
+                columns = new ArrayList<>(columns);
+                columns.add(0, columns.remove(idColumn));
+                values.add(0, values.remove(idColumn));
+            }
+            List<String> tableColumns = List.copyOf(columns);
+            CatalogTable table = tables.computeIfAbsent(matcher.group(1).toLowerCase(),
+                    name -> new CatalogTable(name, tableColumns, new ArrayList<>()));
+            if (!table.columns().equals(tableColumns)) {
+                throw new IllegalStateException("Columns differ from the previous rows of the table: " + statement);
+            }
+            table.rows().add(values.toArray());
+        }
+        return tables;
+    }
+
+    /**
+     * Parses SQL literals: quoted strings (with '' as an escaped quote), numbers,
+     * booleans and NULL.
+     */
+    private static List<Object> parseValues(String values) {
+        List<Object> parsed = new ArrayList<>();
+        int i = 0;
+        while (i < values.length()) {
+            char character = values.charAt(i);
+            if (character == ' ' || character == ',') {
+                i++;
+            } else if (character == '\'') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= values.length()) {
+                        throw new IllegalStateException("Unterminated string: " + values);
+                    }
+                    if (values.charAt(i) == '\'') {
+                        if (i + 1 < values.length() && values.charAt(i + 1) == '\'') {
+                            text.append('\'');
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    text.append(values.charAt(i++));
+                }
+                parsed.add(text.toString());
+            } else {
+                int end = values.indexOf(',', i);
+                if (end < 0) {
+                    end = values.length();
+                }
+                parsed.add(parseLiteral(values.substring(i, end).trim()));
+                i = end;
+            }
+        }
+        return parsed;
+    }
+
+    private static Object parseLiteral(String literal) {
+        if (literal.equalsIgnoreCase("true") || literal.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(literal);
+        }
+        if (literal.equalsIgnoreCase("null")) {
+            return null;
+        }
+        return Long.parseLong(literal);
+    }
+
+    private static byte[] readCatalog() {
+        try (InputStream input = new ClassPathResource(CATALOG).getInputStream()) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String checksum(byte[] catalog) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(catalog));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.suken27.humanfactorsjava.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the versioned SQL migrations in db/migration (V&lt;version&gt;__&lt;description&gt;.sql)
+ * that were not applied yet, in version order, and records them in the
+ * schema_version table.
+ * <p>
+ * Tables and columns are still created by the Hibernate schema update, which
+ * runs before the migrations, so migrations only define what the entity
+ * mappings cannot express, such as the indexes of the frequent queries. As MySQL
+ * commits every DDL statement, a failed migration is retried from its first
+ * statement on the next startup. Index creations and drops are skipped when the
+ * index already exists or is already missing, so those statements can be
+ * repeated.
+ */
+@Component
+@DependsOn({ "entityManagerFactory", "userTableMigration" })
+@Slf4j
+public class SchemaMigrations {
+
+    private static final String LOCATION = "classpath:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern CREATE_INDEX = Pattern
+            .compile("(?is)CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+).*");
+    private static final Pattern DROP_INDEX = Pattern.compile("(?is)DROP\\s+INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)");
+    private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version ("
+            + "version INT NOT NULL PRIMARY KEY, description VARCHAR(200) NOT NULL, checksum BIGINT NOT NULL, "
+            + "installed_on TIMESTAMP NOT NULL)";
+    private static final String SELECT_VERSIONS = "SELECT version, checksum FROM schema_version";
+    private static final String INSERT_VERSION = "INSERT INTO schema_version (version, description, checksum, "
+            + "installed_on) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrateOnStartup() {
+        migrate();
+    }
+
+    /**
+     * @return Amount of migrations applied.
+     */
+    public int migrate() {
+        jdbcTemplate.execute(CREATE_VERSION_TABLE);
+        Map<Integer, Long> appliedChecksums = new TreeMap<>();
+        jdbcTemplate.query(SELECT_VERSIONS, (RowCallbackHandler) resultSet -> appliedChecksums
+                .put(resultSet.getInt("version"), resultSet.getLong("checksum")));
+        int applied = 0;
+        for (Map.Entry<Integer, Resource> migration : findMigrations().entrySet()) {
+            int version = migration.getKey();
+            String script = read(migration.getValue());
+            long checksum = checksum(script);
+            Long appliedChecksum = appliedChecksums.get(version);
+            if (appliedChecksum != null) {
+                if (appliedChecksum != checksum) {
+                    log.warn("Migration [{}] changed after it was applied, the changes are not applied",
+                            migration.getValue().getFilename());
+                }
+                continue;
+            }
+            for (String statement : splitStatements(script)) {
+                execute(statement);
+            }
+            jdbcTemplate.update(INSERT_VERSION, version, description(migration.getValue()), checksum,
+                    Timestamp.valueOf(LocalDateTime.now()));
+            log.info("Migration [{}] applied", migration.getValue().getFilename());
+            applied++;
+        }
+        return applied;
+    }
+
+    private Map<Integer, Resource> findMigrations() {
+        Map<Integer, Resource> migrations = new TreeMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+                if (matcher.matches() && migrations.put(Integer.parseInt(matcher.group(1)), resource) != null) {
+                    throw new IllegalStateException("Two migrations with version " + matcher.group(1));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return migrations;
+    }
+
+    private void execute(String statement) {
+        Matcher create = CREATE_INDEX.matcher(statement);
+        if (create.matches() && indexExists(create.group(2), create.group(1))) {
+            log.debug("Index [{}] already exists", create.group(1));
+            return;
+        }
+        Matcher drop = DROP_INDEX.matcher(statement);
+        if (drop.matches() && !indexExists(drop.group(2), drop.group(1))) {
+            log.debug("Index [{}] does not exist", drop.group(1));
+            return;
+        }
+        jdbcTemplate.execute(statement);
+    }
+
+    private boolean indexExists(String table, String index) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Databases store unquoted names in lower or upper case
+            for (String tableName : List.of(table, table.toLowerCase(), table.toUpperCase())) {
+                if (hasIndex(metaData, connection.getCatalog(), tableName, index)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static boolean hasIndex(DatabaseMetaData metaData, String catalog, String table, String index)
+            throws SQLException {
+        try (ResultSet indexes = metaData.getIndexInfo(catalog, null, table, false, true)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<String> splitStatements(String script) {
+        StringBuilder code = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            if (!line.trim().startsWith("--")) {
+                code.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : code.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    private static String read(Resource resource) {
+        try (InputStream input = resource.getInputStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long checksum(String script) {
+        CRC32 crc = new CRC32();
+        crc.update(script.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static String description(Resource resource) {
+        Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+        matcher.matches();
+        return matcher.group(2).replace('_', ' ');
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.suken27.humanfactorsjava.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.suken27.humanfactorsjava.model.controller.ScoreRecomputationController;
+import com.suken27.humanfactorsjava.model.dto.ScoreRecomputationDto;
+
+/**
+ * Actuator endpoint to start the recomputation of the scores of every team
+ * (POST) and follow its progress and throughput (GET).
+ */
+@Component
+@Endpoint(id = "scorerecomputation")
+public class ScoreRecomputationEndpoint {
+
+    @Autowired
+    private ScoreRecomputationController scoreRecomputationController;
+
+    @ReadOperation
+    public ScoreRecomputationDto progress() {
+        return scoreRecomputationController.getProgress();
+    }
+
+    @WriteOperation
+    public ScoreRecomputationDto start() {
+        return scoreRecomputationController.start();
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.suken27.humanfactorsjava.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the users of databases created when team managers and team members
+ * were mapped to their own tables (team_manager and team_member) into the
+ * single users table. Once copied, the old tables are renamed with a _legacy
+ * suffix, so the migration only runs once and they can be dropped after
+ * checking the result.
+ * <p>
+ * The schema update that creates the users table runs before this migration,
+ * so the foreign key from the human factors of the users to the users table is
+ * only added on the next startup.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class UserTableMigration {
+
+    private static final String TEAM_MANAGER_TABLE = "team_manager";
+    private static final String TEAM_MEMBER_TABLE = "team_member";
+    private static final String LEGACY_SUFFIX = "_legacy";
+    private static final String TABLE_EXISTS = "SELECT COUNT(*) FROM information_schema.tables "
+            + "WHERE table_schema = DATABASE() AND table_name = ?";
+    private static final String COPY_TEAM_MANAGERS = "INSERT INTO users (user_type, id, email, slack_id, "
+            + "score_slot, password, role, managed_team_id) SELECT 'TeamManager', id, email, slack_id, score_slot, password, "
+            + "role, team_id FROM team_manager WHERE id NOT IN (SELECT id FROM users)";
+    private static final String COPY_TEAM_MEMBERS = "INSERT INTO users (user_type, id, email, slack_id, "
+            + "score_slot, deleted, deletion_time, team_id) SELECT 'TeamMember', id, email, slack_id, score_slot, "
+            + "deleted, deletion_time, team_id FROM team_member WHERE id NOT IN (SELECT id FROM users)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void migrateOnStartup() {
+        migrate();
+    }
+
+    /**
+     * @return Amount of users copied into the users table.
+     */
+    public int migrate() {
+        boolean managers = tableExists(TEAM_MANAGER_TABLE);
+        boolean members = tableExists(TEAM_MEMBER_TABLE);
+        if (!managers && !members) {
+            return 0;
+        }
+        int copied = transactionTemplate.execute(status -> (managers ? jdbcTemplate.update(COPY_TEAM_MANAGERS) : 0)
+                + (members ? jdbcTemplate.update(COPY_TEAM_MEMBERS) : 0));
+        if (managers) {
+            renameToLegacy(TEAM_MANAGER_TABLE);
+        }
+        if (members) {
+            renameToLegacy(TEAM_MEMBER_TABLE);
+        }
+        log.info("[{}] users moved from the team_manager and team_member tables to the users table", copied);
+        return copied;
+    }
+
+    private boolean tableExists(String table) {
+        Integer tables = jdbcTemplate.queryForObject(TABLE_EXISTS, Integer.class, table);
+        return tables != null && tables > 0;
+    }
+
+    private void renameToLegacy(String table) {
+        jdbcTemplate.execute("RENAME TABLE " + table + " TO " + table + LEGACY_SUFFIX);
+    }
+
+}
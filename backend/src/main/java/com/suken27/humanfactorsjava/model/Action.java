@@ -1,5 +1,8 @@
 package com.suken27.humanfactorsjava.model;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
@@ -14,6 +17,7 @@ public class Action {
     @GeneratedValue
     private Long id;
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     private ActionType type;
 
     /**
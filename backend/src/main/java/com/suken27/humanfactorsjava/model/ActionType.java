@@ -1,5 +1,11 @@
 package com.suken27.humanfactorsjava.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -12,6 +18,8 @@ import lombok.Data;
  * @see Action
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @Data
 public class ActionType {
 
@@ -23,6 +31,7 @@ public class ActionType {
     @Column(length = 1000)
     private String description;
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     private BibliographicSource bibliographicSource;
 
     /**
@@ -0,0 +1,44 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Answer moved out of its question once it is no longer one of the latest
+ * answers. Archived answers are only appended, and they are indexed by month so
+ * old months can be scanned or purged without touching the recent ones.
+ * 
+ * @see Answer
+ * @see Question
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_archived_answer_question_time", columnList = "question_id, creation_time"),
+        @Index(name = "idx_archived_answer_month", columnList = "archive_month") })
+@Data
+public class ArchivedAnswer {
+
+    /**
+     * Id of the answer before it was archived.
+     */
+    @Id
+    private Long id;
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+    @Column(name = "creation_time")
+    private LocalDateTime creationTime;
+    private Double answerValue;
+    /**
+     * First day of the month in which the answer was given.
+     */
+    @Column(name = "archive_month", nullable = false)
+    private LocalDate archiveMonth;
+
+}
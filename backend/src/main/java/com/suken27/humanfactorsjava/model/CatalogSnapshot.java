@@ -0,0 +1,105 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Human factor catalog as it was loaded at a given time. The snapshot is never
+ * modified once created: a reload creates a new snapshot, so a use case that
+ * reads the catalog through the same snapshot sees a consistent catalog, even if
+ * it is reloaded meanwhile.
+ * 
+ * @see HumanFactorFactory#reload()
+ */
+public class CatalogSnapshot {
+
+    private final long version;
+    private final LocalDateTime loadTime;
+    private final Map<Long, HumanFactorType> humanFactorTypes;
+    private final List<HumanFactorType> humanFactorTypeList;
+    private final HumanFactorGraph humanFactorGraph;
+
+    /**
+     * @param version          Number of the load that created the snapshot.
+     * @param humanFactorTypes Human factor types, with their questions, actions,
+     *                         dependencies and bibliographic sources loaded. Their
+     *                         collections are replaced by unmodifiable copies.
+     */
+    public CatalogSnapshot(long version, Collection<HumanFactorType> humanFactorTypes) {
+        this.version = version;
+        this.loadTime = LocalDateTime.now();
+        List<HumanFactorType> sorted = new ArrayList<>(humanFactorTypes);
+        sorted.sort(Comparator.comparing(HumanFactorType::getId));
+        Map<Long, HumanFactorType> byId = new LinkedHashMap<>();
+        for (HumanFactorType humanFactorType : sorted) {
+            humanFactorType.setQuestionTypes(List.copyOf(humanFactorType.getQuestionTypes()));
+            humanFactorType.setActionTypes(List.copyOf(humanFactorType.getActionTypes()));
+            humanFactorType.setAffectsTo(List.copyOf(humanFactorType.getAffectsTo()));
+            humanFactorType.setBibliographicSource(List.copyOf(humanFactorType.getBibliographicSource()));
+            byId.put(humanFactorType.getId(), humanFactorType);
+        }
+        this.humanFactorTypes = Map.copyOf(byId);
+        this.humanFactorTypeList = List.copyOf(sorted);
+        this.humanFactorGraph = HumanFactorGraph.of(sorted);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * @return Every human factor type, by ascending id.
+     */
+    public List<HumanFactorType> getHumanFactorTypes() {
+        return humanFactorTypeList;
+    }
+
+    /**
+     * @param id Id of a human factor type.
+     * @return The human factor type, or null if the catalog does not contain it.
+     */
+    public HumanFactorType getHumanFactorType(Long id) {
+        return humanFactorTypes.get(id);
+    }
+
+    /**
+     * @return Dependency graph of every human factor type, shared by every team.
+     */
+    public HumanFactorGraph getHumanFactorGraph() {
+        return humanFactorGraph;
+    }
+
+    public List<HumanFactor> createInstances() {
+        List<HumanFactor> humanFactors = new ArrayList<>();
+        for (HumanFactorType humanFactorType : humanFactorTypeList) {
+            humanFactors.add(humanFactorType.createInstance());
+        }
+        return humanFactors;
+    }
+
+    /**
+     * Creates the human factors of a new team. The dependencies between them are
+     * not copied into the team, as they are part of the shared catalog graph.
+     * 
+     * @return Team human factors (extrinsic state) of every human factor type.
+     */
+    public List<TeamHumanFactor> createTeamInstances() {
+        Map<ActionType, Action> sharedActions = new HashMap<>();
+        List<TeamHumanFactor> humanFactors = new ArrayList<>();
+        for (HumanFactorType humanFactorType : humanFactorTypeList) {
+            humanFactors.add(humanFactorType.createTeamInstance(sharedActions));
+        }
+        return humanFactors;
+    }
+
+}
@@ -0,0 +1,275 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary file with a compiled snapshot of the catalog, so it can be loaded
+ * without querying the catalog tables. The file starts with a header (magic
+ * number, format version, checksum of the catalog it was written from, and
+ * length and CRC32 of the content), followed by the bibliographic sources,
+ * action types, question types and human factor types, each one referring to
+ * the previous ones by id. Enums are stored by name, so reordering their
+ * constants does not change the values read.
+ * 
+ * @see HumanFactorFactory
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x48464353;
+    /**
+     * Incremented with every change in the content, so files written by previous
+     * versions are ignored.
+     */
+    private static final int FORMAT_VERSION = 2;
+    private static final long NONE = -1;
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Writes the catalog to a temporary file that then replaces the given one, so
+     * readers never find a partially written file.
+     * 
+     * @param catalog  Catalog to write.
+     * @param checksum Checksum of the catalog stored in the database.
+     * @param file     Path of the file.
+     */
+    public static void write(CatalogSnapshot catalog, String checksum, Path file) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(content);
+        Map<Long, BibliographicSource> bibliographicSources = new LinkedHashMap<>();
+        Map<Long, ActionType> actionTypes = new LinkedHashMap<>();
+        Map<Long, QuestionType> questionTypes = new LinkedHashMap<>();
+        for (HumanFactorType humanFactorType : catalog.getHumanFactorTypes()) {
+            for (BibliographicSource source : humanFactorType.getBibliographicSource()) {
+                bibliographicSources.put(source.getId(), source);
+            }
+            for (ActionType actionType : humanFactorType.getActionTypes()) {
+                actionTypes.put(actionType.getId(), actionType);
+                if (actionType.getBibliographicSource() != null) {
+                    bibliographicSources.put(actionType.getBibliographicSource().getId(),
+                            actionType.getBibliographicSource());
+                }
+            }
+            for (QuestionType questionType : humanFactorType.getQuestionTypes()) {
+                questionTypes.put(questionType.getId(), questionType);
+            }
+        }
+        output.writeInt(bibliographicSources.size());
+        for (BibliographicSource source : bibliographicSources.values()) {
+            output.writeLong(source.getId());
+            writeString(output, source.getAuthors());
+            output.writeLong(source.getPublicationDate() == null ? NONE : source.getPublicationDate().toEpochDay());
+            writeString(output, source.getTitle());
+        }
+        output.writeInt(actionTypes.size());
+        for (ActionType actionType : actionTypes.values()) {
+            output.writeLong(actionType.getId());
+            writeString(output, actionType.getTitle());
+            writeString(output, actionType.getDescription());
+            output.writeLong(
+                    actionType.getBibliographicSource() == null ? NONE : actionType.getBibliographicSource().getId());
+        }
+        output.writeInt(questionTypes.size());
+        for (QuestionType questionType : questionTypes.values()) {
+            output.writeLong(questionType.getId());
+            writeString(output, questionType.getQuestionText());
+            output.writeBoolean(questionType.isOnlyForManagement());
+            output.writeBoolean(questionType.isNegative());
+            writeString(output, questionType.getTypeOfAnswer() == null ? null : questionType.getTypeOfAnswer().name());
+        }
+        output.writeInt(catalog.getHumanFactorTypes().size());
+        for (HumanFactorType humanFactorType : catalog.getHumanFactorTypes()) {
+            output.writeLong(humanFactorType.getId());
+            writeString(output, humanFactorType.getTitle());
+            writeString(output, humanFactorType.getDescription());
+            output.writeBoolean(humanFactorType.isOnlyOnce());
+            writeString(output, humanFactorType.getCluster() == null ? null : humanFactorType.getCluster().name());
+            writeIds(output, humanFactorType.getQuestionTypes().stream().map(QuestionType::getId).toList());
+            writeIds(output, humanFactorType.getActionTypes().stream().map(ActionType::getId).toList());
+            writeIds(output, humanFactorType.getAffectsTo().stream().map(HumanFactorType::getId).toList());
+            writeIds(output,
+                    humanFactorType.getBibliographicSource().stream().map(BibliographicSource::getId).toList());
+        }
+        output.flush();
+        byte[] bytes = content.toByteArray();
+        ByteArrayOutputStream fileContent = new ByteArrayOutputStream(bytes.length + 128);
+        DataOutputStream header = new DataOutputStream(fileContent);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        writeString(header, checksum);
+        header.writeInt(bytes.length);
+        header.writeLong(crc(ByteBuffer.wrap(bytes)));
+        header.write(bytes);
+        header.flush();
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryFile, fileContent.toByteArray());
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Reads the human factor types of the file, if it was written from the given
+     * catalog.
+     * 
+     * @param file     Path of the file.
+     * @param checksum Checksum of the catalog stored in the database.
+     * @return Human factor types with their questions, actions, dependencies and
+     *         bibliographic sources, or null if the file does not exist, is not
+     *         valid or was written from another catalog.
+     */
+    public static List<HumanFactorType> read(Path file, String checksum) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        // Every byte is decoded into new objects, so the file is read as a whole
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || !checksum.equals(readString(buffer))) {
+                return null;
+            }
+            int length = buffer.getInt();
+            long crc = buffer.getLong();
+            if (buffer.remaining() != length) {
+                return null;
+            }
+            ByteBuffer content = buffer.slice();
+            if (crc(content.duplicate()) != crc) {
+                return null;
+            }
+            return readContent(content);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<HumanFactorType> readContent(ByteBuffer content) {
+        Map<Long, BibliographicSource> bibliographicSources = new LinkedHashMap<>();
+        for (int i = content.getInt(); i > 0; i--) {
+            BibliographicSource source = new BibliographicSource();
+            source.setId(content.getLong());
+            source.setAuthors(readString(content));
+            long publicationDate = content.getLong();
+            source.setPublicationDate(publicationDate == NONE ? null : LocalDate.ofEpochDay(publicationDate));
+            source.setTitle(readString(content));
+            bibliographicSources.put(source.getId(), source);
+        }
+        Map<Long, ActionType> actionTypes = new LinkedHashMap<>();
+        for (int i = content.getInt(); i > 0; i--) {
+            ActionType actionType = new ActionType();
+            actionType.setId(content.getLong());
+            actionType.setTitle(readString(content));
+            actionType.setDescription(readString(content));
+            actionType.setBibliographicSource(bibliographicSources.get(content.getLong()));
+            actionTypes.put(actionType.getId(), actionType);
+        }
+        Map<Long, QuestionType> questionTypes = new LinkedHashMap<>();
+        for (int i = content.getInt(); i > 0; i--) {
+            QuestionType questionType = new QuestionType();
+            questionType.setId(content.getLong());
+            questionType.setQuestionText(readString(content));
+            questionType.setOnlyForManagement(content.get() != 0);
+            questionType.setNegative(content.get() != 0);
+            String typeOfAnswer = readString(content);
+            questionType.setTypeOfAnswer(typeOfAnswer == null ? null : TypeOfAnswer.valueOf(typeOfAnswer));
+            questionTypes.put(questionType.getId(), questionType);
+        }
+        Map<Long, HumanFactorType> humanFactorTypes = new LinkedHashMap<>();
+        Map<HumanFactorType, List<Long>> affectsTo = new LinkedHashMap<>();
+        for (int i = content.getInt(); i > 0; i--) {
+            HumanFactorType humanFactorType = new HumanFactorType();
+            humanFactorType.setId(content.getLong());
+            humanFactorType.setTitle(readString(content));
+            humanFactorType.setDescription(readString(content));
+            humanFactorType.setOnlyOnce(content.get() != 0);
+            String cluster = readString(content);
+            humanFactorType.setCluster(cluster == null ? null : Cluster.valueOf(cluster));
+            humanFactorType.setQuestionTypes(resolve(readIds(content), questionTypes));
+            humanFactorType.setActionTypes(resolve(readIds(content), actionTypes));
+            // Dependencies may refer to types that come later
+            affectsTo.put(humanFactorType, readIds(content));
+            humanFactorType.setBibliographicSource(resolve(readIds(content), bibliographicSources));
+            humanFactorTypes.put(humanFactorType.getId(), humanFactorType);
+        }
+        affectsTo.forEach((humanFactorType, ids) -> humanFactorType.setAffectsTo(resolve(ids, humanFactorTypes)));
+        return new ArrayList<>(humanFactorTypes.values());
+    }
+
+    private static <T> List<T> resolve(List<Long> ids, Map<Long, T> byId) {
+        List<T> resolved = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T value = byId.get(id);
+            if (value == null) {
+                throw new IllegalArgumentException("Unknown id in the catalog snapshot: " + id);
+            }
+            resolved.add(value);
+        }
+        return resolved;
+    }
+
+    private static void writeIds(DataOutputStream output, List<Long> ids) throws IOException {
+        output.writeInt(ids.size());
+        for (Long id : ids) {
+            output.writeLong(id);
+        }
+    }
+
+    private static List<Long> readIds(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(buffer.getLong());
+        }
+        return ids;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt((int) NONE);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NONE) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length in the catalog snapshot: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long crc(ByteBuffer content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+}
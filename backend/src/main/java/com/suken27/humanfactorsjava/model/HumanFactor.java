@@ -4,13 +4,20 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
 import lombok.Data;
 
 @Entity
@@ -20,11 +27,23 @@ public class HumanFactor {
     @Id
     @GeneratedValue
     private Long id;
+    // Resolved from the second-level cache instead of joining the catalog table
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     private HumanFactorType type;
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Question> questions;
     private LocalDate lastQuestionAnswered;
+    /**
+     * Question that was answered the longest time ago. Answering a question
+     * only moves its date forward, so this pointer is only recalculated when
+     * the question it points to is answered. There is no foreign key, so the
+     * questions can be deleted before the human factor.
+     */
+    @OneToOne
+    @JoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Question oldestQuestion;
     private boolean isFullyMeasured;
     private Double score;
 
@@ -51,23 +70,44 @@ public class HumanFactor {
         if(question == null) {
             return 0;
         }
-        return getOldestQuestion().daysSinceLastAnswer();
+        return question.daysSinceLastAnswer();
+    }
+
+    /**
+     * @param questionId Id of a question.
+     * @return The question of this human factor with the given id, or null if it
+     *         is not one of its questions.
+     */
+    public Question getQuestion(Long questionId) {
+        for (Question question : questions) {
+            if(question.getId().equals(questionId)) {
+                return question;
+            }
+        }
+        return null;
     }
 
     public Question getOldestQuestion() {
+        if(oldestQuestion == null) {
+            oldestQuestion = findOldestQuestion();
+        }
+        return oldestQuestion;
+    }
+
+    private Question findOldestQuestion() {
         if(questions == null || questions.isEmpty()) {
             return null;
         }
-        Question oldestQuestion = questions.get(0);
+        Question oldest = questions.get(0);
         for (Question question : questions) {
             if(question.getLastAnswerDateTime() == null) {
                 return question;
             }
-            if(question.getLastAnswerDateTime().isBefore(oldestQuestion.getLastAnswerDateTime())) {
-                oldestQuestion = question;
+            if(question.getLastAnswerDateTime().isBefore(oldest.getLastAnswerDateTime())) {
+                oldest = question;
             }
         }
-        return oldestQuestion;
+        return oldest;
     }
 
     /**
@@ -77,15 +117,27 @@ public class HumanFactor {
      * @return The score of the human factor if all the questions have been answered, null otherwise.
      */
     public Double answerQuestion(Long questionId, Double answer) {
-        for (Question question : questions) {
-            if(question.getId().equals(questionId)) {
-                question.answer(answer);
-                updateHumanFactor();
-                if(isFullyMeasured) {
-                    return score;
-                }
-                return null;
-            }
+        Question question = getQuestion(questionId);
+        if(question == null) {
+            return null;
+        }
+        return answerQuestion(question, answer);
+    }
+
+    /**
+     * 
+     * @param question One of the questions of this human factor.
+     * @param answer
+     * @return The score of the human factor if all the questions have been answered, null otherwise.
+     */
+    public Double answerQuestion(Question question, Double answer) {
+        question.answer(answer);
+        if(oldestQuestion == null || oldestQuestion == question) {
+            oldestQuestion = findOldestQuestion();
+        }
+        updateHumanFactor();
+        if(isFullyMeasured) {
+            return score;
         }
         return null;
     }
@@ -1,68 +1,150 @@
 package com.suken27.humanfactorsjava.model;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
 
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.suken27.humanfactorsjava.config.CatalogSeeder;
 import com.suken27.humanfactorsjava.repository.HumanFactorTypeRepository;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the human factor catalog, loaded on startup once it is seeded. The
+ * current catalog is published as an immutable snapshot, which is replaced as a
+ * whole when the catalog is reloaded. Every snapshot loaded from the database
+ * is also written to a binary file, which is read on the next startup instead
+ * of the catalog tables while the seeded catalog does not change.
+ * 
+ * @see CatalogSnapshot
+ * @see CatalogSnapshotFile
+ */
 @Component
+@DependsOn("catalogSeeder")
+@Slf4j
 public class HumanFactorFactory {
 
     @Autowired
     private HumanFactorTypeRepository humanFactorTypeRepository;
-    
-    private List<HumanFactorType> all;
 
-    public List<HumanFactorType> getAll() {
-        if(all == null) {
-            all = humanFactorTypeRepository.findAll();
-            List<HumanFactorType> actions = humanFactorTypeRepository.findAllFetchActions(all);
-            List<HumanFactorType> questions = humanFactorTypeRepository.findAllFetchQuestions(all);
-            List<HumanFactorType> dependsOn = humanFactorTypeRepository.findAllFetchAffectsTo(all);
-            List<HumanFactorType> bibliographicSource = humanFactorTypeRepository.findAllFetchBibliographicSource(all);
-            for(int i = 0; i < all.size(); i++) {
-                HumanFactorType humanFactorType = all.get(i);
-                humanFactorType.setActionTypes(actions.get(i).getActionTypes());
-                humanFactorType.setQuestionTypes(questions.get(i).getQuestionTypes());
-                humanFactorType.setAffectsTo(dependsOn.get(i).getAffectsTo());
-                humanFactorType.setBibliographicSource(bibliographicSource.get(i).getBibliographicSource());
-            }
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogSeeder catalogSeeder;
+
+    @Value("${com.suken27.humanfactors.catalog.snapshotFile}")
+    private Path snapshotFile;
+
+    private volatile CatalogSnapshot catalog;
+
+    @PostConstruct
+    public void loadOnStartup() {
+        String checksum = catalogSeeder.getAppliedChecksum();
+        List<HumanFactorType> humanFactorTypes = null;
+        try {
+            humanFactorTypes = CatalogSnapshotFile.read(snapshotFile, checksum);
+        } catch (IOException e) {
+            log.warn("The catalog snapshot file [{}] could not be read", snapshotFile, e);
         }
-        
-        return all;
+        if (humanFactorTypes == null) {
+            reload();
+            return;
+        }
+        catalog = new CatalogSnapshot(1, humanFactorTypes);
+        log.info("Catalog version [{}] loaded from [{}] with [{}] human factor types", catalog.getVersion(),
+                snapshotFile, humanFactorTypes.size());
     }
 
-    public List<HumanFactor> createInstances() {
-        List<HumanFactor> humanFactors = new ArrayList<>();
-        for (HumanFactorType humanFactorType : getAll()) {
-            humanFactors.add(humanFactorType.createInstance());
+    /**
+     * Loads the catalog from the database and publishes it as the current
+     * snapshot. Users of the previous snapshot keep using it until they read the
+     * catalog again.
+     * 
+     * @return The new snapshot.
+     */
+    public synchronized CatalogSnapshot reload() {
+        // The cached catalog entities are read-only, so they are evicted to read the
+        // catalog as it is stored
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        // Every query runs in the same persistence context, so each one initializes a
+        // collection of the same human factor type instances
+        List<HumanFactorType> humanFactorTypes = transactionTemplate.execute(status -> {
+            List<HumanFactorType> all = humanFactorTypeRepository.findAll();
+            humanFactorTypeRepository.findAllFetchActions(all);
+            humanFactorTypeRepository.findAllFetchQuestions(all);
+            humanFactorTypeRepository.findAllFetchAffectsTo(all);
+            humanFactorTypeRepository.findAllFetchBibliographicSource(all);
+            return all;
+        });
+        CatalogSnapshot snapshot = new CatalogSnapshot(catalog == null ? 1 : catalog.getVersion() + 1,
+                humanFactorTypes);
+        if (!snapshot.getHumanFactorGraph().getCycles().isEmpty()) {
+            log.warn("The human factor catalog contains dependency cycles: {}",
+                    snapshot.getHumanFactorGraph().getCycles());
         }
-        return humanFactors;
+        catalog = snapshot;
+        writeSnapshotFile(snapshot);
+        log.info("Catalog version [{}] loaded with [{}] human factor types", snapshot.getVersion(),
+                humanFactorTypes.size());
+        return snapshot;
     }
 
-    public List<TeamHumanFactor> createTeamInstances() {
-        Map<HumanFactorType, TeamHumanFactor> map = new HashMap<>();
-        Map<ActionType, Action> sharedActions = new HashMap<>();
-        List<TeamHumanFactor> humanFactors = new ArrayList<>();
-        for (HumanFactorType humanFactorType : getAll()) {
-            TeamHumanFactor humanFactor = humanFactorType.createTeamInstance(sharedActions);
-            map.put(humanFactorType, humanFactor);
-            humanFactors.add(humanFactor);
+    private void writeSnapshotFile(CatalogSnapshot snapshot) {
+        String checksum = catalogSeeder.getAppliedChecksum();
+        if (checksum == null) {
+            return;
         }
-        // Adds the depending factors objects with aliasing
-        for (TeamHumanFactor humanFactor : humanFactors) {
-            for (HumanFactorType humanFactorType : humanFactor.getType().getAffectsTo()) {
-                TeamHumanFactor affectedBy = map.get(humanFactorType);
-                humanFactor.getAffectsTo().add(affectedBy);
-                affectedBy.getAffectedBy().add(humanFactor);
-            }
+        try {
+            CatalogSnapshotFile.write(snapshot, checksum, snapshotFile);
+        } catch (IOException e) {
+            // The next startup loads the catalog from the database instead
+            log.warn("The catalog snapshot file [{}] could not be written", snapshotFile, e);
         }
-        return humanFactors;
+    }
+
+    /**
+     * @return Current snapshot of the catalog. Use cases that read the catalog more
+     *         than once should keep the snapshot instead of calling this factory
+     *         again.
+     */
+    public CatalogSnapshot getCatalog() {
+        return catalog;
+    }
+
+    public List<HumanFactorType> getAll() {
+        return catalog.getHumanFactorTypes();
+    }
+
+    /**
+     * @return Dependency graph of every human factor type, shared by every team.
+     */
+    public HumanFactorGraph getHumanFactorGraph() {
+        return catalog.getHumanFactorGraph();
+    }
+
+    public List<HumanFactor> createInstances() {
+        return catalog.createInstances();
+    }
+
+    /**
+     * @return Team human factors (extrinsic state) of every human factor type.
+     * @see CatalogSnapshot#createTeamInstances()
+     */
+    public List<TeamHumanFactor> createTeamInstances() {
+        return catalog.createTeamInstances();
     }
 
 }
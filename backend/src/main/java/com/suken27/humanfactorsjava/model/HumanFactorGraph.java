@@ -0,0 +1,480 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Dependency graph between human factors, compiled into a propagation order.
+ * Human factors are identified by an int index (their position when sorted by
+ * type id). The graph is immutable, so the one compiled from the catalog is
+ * shared by every team. The graph is condensed into its strongly connected components, so
+ * the dependency cycles present in the catalog do not prevent computing an
+ * order: the factors of a cycle are placed next to each other and are solved
+ * together, iterating until their scores reach a fixed point.
+ */
+public class HumanFactorGraph {
+
+    /**
+     * Maximum difference between two iterations for the scores of a dependency
+     * cycle to be considered stable.
+     */
+    private static final double CYCLE_TOLERANCE = 1e-12;
+    /**
+     * Every iteration reduces the error by a factor of at least n/(n+1), where n is
+     * the maximum amount of dependencies of a factor, so this limit is only reached
+     * by factors with thousands of dependencies.
+     */
+    private static final int MAX_CYCLE_ITERATIONS = 10000;
+
+    /**
+     * Access to the scores that the graph propagates, indexed by human factor.
+     */
+    public interface ScoreAccessor {
+
+        /**
+         * @param factor Index of the human factor.
+         * @return Score of the human factor measured through its own questions, or
+         *         NaN if it cannot be calculated yet.
+         */
+        double ownScore(int factor);
+
+        /**
+         * @param factor Index of the human factor.
+         * @return Current score of the human factor, or NaN if it has none.
+         */
+        double score(int factor);
+
+        void setScore(int factor, double score);
+
+    }
+
+    private final long[] typeIds;
+    private final Map<Long, Integer> indexes;
+    private final int[][] affectsTo;
+    private final int[][] affectedBy;
+    private final int[] order;
+    private final int[] position;
+    private final List<int[]> cycles;
+    /**
+     * For each human factor in a cycle, the cycle it belongs to. Null for the rest.
+     */
+    private final int[][] cycleOf;
+    /**
+     * Propagation order for a change in each single human factor, computed the
+     * first time it is needed.
+     */
+    private final AtomicReferenceArray<int[]> downstreamOrders;
+
+    /**
+     * @param typeIds   Id of the human factor type of each index.
+     * @param affectsTo For each index, the indexes of the human factors that
+     *                  depend on it.
+     */
+    public HumanFactorGraph(long[] typeIds, int[][] affectsTo) {
+        this.typeIds = typeIds.clone();
+        this.affectsTo = new int[affectsTo.length][];
+        indexes = new HashMap<>();
+        int[] inDegree = new int[typeIds.length];
+        for (int i = 0; i < typeIds.length; i++) {
+            indexes.put(typeIds[i], i);
+            this.affectsTo[i] = affectsTo[i].clone();
+            for (int target : affectsTo[i]) {
+                inDegree[target]++;
+            }
+        }
+        affectedBy = new int[typeIds.length][];
+        for (int i = 0; i < typeIds.length; i++) {
+            affectedBy[i] = new int[inDegree[i]];
+        }
+        for (int i = 0; i < typeIds.length; i++) {
+            for (int target : affectsTo[i]) {
+                affectedBy[target][--inDegree[target]] = i;
+            }
+        }
+        List<int[]> components = stronglyConnectedComponents(this.affectsTo);
+        // Tarjan's algorithm finds the components in reverse topological order
+        Collections.reverse(components);
+        order = new int[typeIds.length];
+        position = new int[typeIds.length];
+        cycles = new ArrayList<>();
+        cycleOf = new int[typeIds.length][];
+        int next = 0;
+        for (int[] component : components) {
+            for (int factor : component) {
+                position[factor] = next;
+                order[next++] = factor;
+            }
+            if (component.length > 1 || Arrays.stream(this.affectsTo[component[0]]).anyMatch(t -> t == component[0])) {
+                cycles.add(component);
+                for (int factor : component) {
+                    cycleOf[factor] = component;
+                }
+            }
+        }
+        downstreamOrders = new AtomicReferenceArray<>(typeIds.length);
+    }
+
+    /**
+     * Compiles the graph of the given human factor types from their dependencies.
+     * Dependencies on types not included are ignored.
+     *
+     * @param humanFactorTypes Human factor types, with their dependencies loaded.
+     * @return Dependency graph of the given human factor types.
+     */
+    public static HumanFactorGraph of(Collection<HumanFactorType> humanFactorTypes) {
+        List<HumanFactorType> sorted = new ArrayList<>(humanFactorTypes);
+        sorted.sort(Comparator.comparing(HumanFactorType::getId));
+        long[] typeIds = new long[sorted.size()];
+        Map<Long, Integer> sortedIndexes = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            typeIds[i] = sorted.get(i).getId();
+            sortedIndexes.put(typeIds[i], i);
+        }
+        int[][] affectsTo = new int[sorted.size()][];
+        for (int i = 0; i < sorted.size(); i++) {
+            affectsTo[i] = sorted.get(i).getAffectsTo().stream().map(HumanFactorType::getId)
+                    .filter(sortedIndexes::containsKey).mapToInt(sortedIndexes::get).toArray();
+        }
+        return new HumanFactorGraph(typeIds, affectsTo);
+    }
+
+    /**
+     * @param typeIds Ids of the human factor types to keep, in ascending order.
+     * @return This graph if it contains exactly the given types, or the subgraph
+     *         with only the given types and the dependencies between them.
+     */
+    public HumanFactorGraph restrictTo(long[] typeIds) {
+        if (hasTypeIds(typeIds)) {
+            return this;
+        }
+        Map<Long, Integer> restrictedIndexes = new HashMap<>();
+        for (int i = 0; i < typeIds.length; i++) {
+            restrictedIndexes.put(typeIds[i], i);
+        }
+        int[][] restrictedAffectsTo = new int[typeIds.length][];
+        for (int i = 0; i < typeIds.length; i++) {
+            int factor = indexOf(typeIds[i]);
+            restrictedAffectsTo[i] = factor < 0 ? new int[0]
+                    : Arrays.stream(affectsTo[factor]).mapToObj(target -> restrictedIndexes.get(this.typeIds[target]))
+                            .filter(target -> target != null).mapToInt(Integer::intValue).toArray();
+        }
+        return new HumanFactorGraph(typeIds, restrictedAffectsTo);
+    }
+
+    public int size() {
+        return typeIds.length;
+    }
+
+    /**
+     * @param typeId Id of a human factor type.
+     * @return Index of the human factor in the graph, or -1 if the graph does not
+     *         contain it.
+     */
+    public int indexOf(Long typeId) {
+        Integer index = indexes.get(typeId);
+        return index == null ? -1 : index;
+    }
+
+    public long getTypeId(int factor) {
+        return typeIds[factor];
+    }
+
+    /**
+     * @return Id of the human factor type of each index.
+     */
+    public long[] getTypeIds() {
+        return typeIds.clone();
+    }
+
+    /**
+     * @param typeIds Ids of human factor types.
+     * @return True if the graph contains exactly the given types, in the same
+     *         order.
+     */
+    public boolean hasTypeIds(long[] typeIds) {
+        return Arrays.equals(this.typeIds, typeIds);
+    }
+
+    /**
+     * @param factor Index of a human factor.
+     * @return Indexes of the human factors that depend on it.
+     */
+    public int[] getAffectsTo(int factor) {
+        return affectsTo[factor].clone();
+    }
+
+    /**
+     * @param factor Index of a human factor.
+     * @return Indexes of the human factors it depends on.
+     */
+    public int[] getAffectedBy(int factor) {
+        return affectedBy[factor].clone();
+    }
+
+    /**
+     * @return Indexes of every human factor, ordered so that every human factor
+     *         comes after the ones it depends on (except inside cycles).
+     */
+    public int[] getTopologicalOrder() {
+        return order.clone();
+    }
+
+    /**
+     * @return Type ids of the human factors involved in each dependency cycle.
+     */
+    public List<List<Long>> getCycles() {
+        List<List<Long>> typeIdCycles = new ArrayList<>();
+        for (int[] cycle : cycles) {
+            typeIdCycles.add(Arrays.stream(cycle).mapToObj(factor -> typeIds[factor]).toList());
+        }
+        return typeIdCycles;
+    }
+
+    /**
+     * @param sources Indexes of the human factors that changed.
+     * @return Indexes of the given human factors and every human factor that
+     *         depends on them, directly or transitively.
+     */
+    public BitSet downstreamOf(BitSet sources) {
+        BitSet downstream = (BitSet) sources.clone();
+        int[] pending = new int[typeIds.length];
+        int pendingSize = 0;
+        for (int factor = sources.nextSetBit(0); factor >= 0; factor = sources.nextSetBit(factor + 1)) {
+            pending[pendingSize++] = factor;
+        }
+        while (pendingSize > 0) {
+            int factor = pending[--pendingSize];
+            for (int target : affectsTo[factor]) {
+                if (!downstream.get(target)) {
+                    downstream.set(target);
+                    pending[pendingSize++] = target;
+                }
+            }
+        }
+        return downstream;
+    }
+
+    /**
+     * @param source Index of the human factor that changed.
+     * @param accessor Access to the scores.
+     * @return Amount of human factors recalculated.
+     * @see #propagate(BitSet, ScoreAccessor)
+     */
+    public int propagate(int source, ScoreAccessor accessor) {
+        int[] downstreamOrder = downstreamOrders.get(source);
+        if (downstreamOrder == null) {
+            BitSet sources = new BitSet(typeIds.length);
+            sources.set(source);
+            downstreamOrder = orderOf(downstreamOf(sources));
+            downstreamOrders.set(source, downstreamOrder);
+        }
+        return propagate(downstreamOrder, accessor);
+    }
+
+    /**
+     * Recalculates the scores of the given human factors and of every human factor
+     * depending on them. Each affected human factor is recalculated once, in
+     * topological order, so the scores it depends on are already up to date. The
+     * score of a human factor is the average between its own score and the scores
+     * of every human factor it depends on, including the ones that triggered the
+     * propagation. Human factors without an own score are left untouched and do
+     * not count towards the average of the ones depending on them.
+     * <p>
+     * The human factors of a dependency cycle depend on each other's scores, so
+     * they are recalculated together until none of their scores changes. The
+     * average is a contraction, so the result is the same whatever the order of
+     * the factors in the cycle and their previous scores.
+     *
+     * @param sources  Indexes of the human factors that changed.
+     * @param accessor Access to the scores.
+     * @return Amount of human factors recalculated.
+     */
+    public int propagate(BitSet sources, ScoreAccessor accessor) {
+        return propagate(orderOf(downstreamOf(sources)), accessor);
+    }
+
+    private int propagate(int[] affected, ScoreAccessor accessor) {
+        int recalculated = 0;
+        int next = 0;
+        while (next < affected.length) {
+            int factor = affected[next];
+            if (cycleOf[factor] != null) {
+                // The whole cycle is downstream of any of its factors, and its factors are
+                // next to each other in the order
+                recalculated += propagateCycle(cycleOf[factor], accessor);
+                next += cycleOf[factor].length;
+                continue;
+            }
+            next++;
+            double average = accessor.ownScore(factor);
+            if (Double.isNaN(average)) {
+                continue;
+            }
+            int counter = 1;
+            for (int dependency : affectedBy[factor]) {
+                // If not all the depending factors are available, the human factor score is
+                // still calculated
+                double dependencyScore = Double.isNaN(accessor.ownScore(dependency)) ? Double.NaN
+                        : accessor.score(dependency);
+                if (!Double.isNaN(dependencyScore)) {
+                    average += dependencyScore;
+                    counter++;
+                }
+            }
+            accessor.setScore(factor, average / counter);
+            recalculated++;
+        }
+        return recalculated;
+    }
+
+    /**
+     * Recalculates the human factors of a dependency cycle until their scores
+     * reach a fixed point. Every iteration calculates the scores of the whole cycle
+     * from the scores of the previous one, so the order of the factors does not
+     * matter.
+     *
+     * @param cycle    Indexes of the human factors in the cycle, sorted.
+     * @param accessor Access to the scores.
+     * @return Amount of human factors recalculated.
+     */
+    private int propagateCycle(int[] cycle, ScoreAccessor accessor) {
+        double[] ownScores = new double[cycle.length];
+        double[] scores = new double[cycle.length];
+        for (int i = 0; i < cycle.length; i++) {
+            ownScores[i] = accessor.ownScore(cycle[i]);
+            scores[i] = Double.isNaN(ownScores[i]) ? Double.NaN : accessor.score(cycle[i]);
+        }
+        double[] nextScores = new double[cycle.length];
+        for (int iteration = 0; iteration < MAX_CYCLE_ITERATIONS; iteration++) {
+            double maxChange = 0.0;
+            for (int i = 0; i < cycle.length; i++) {
+                nextScores[i] = ownScores[i];
+                if (Double.isNaN(ownScores[i])) {
+                    continue;
+                }
+                double average = ownScores[i];
+                int counter = 1;
+                for (int dependency : affectedBy[cycle[i]]) {
+                    int member = Arrays.binarySearch(cycle, dependency);
+                    double dependencyScore;
+                    if (member >= 0) {
+                        dependencyScore = scores[member];
+                    } else {
+                        dependencyScore = Double.isNaN(accessor.ownScore(dependency)) ? Double.NaN
+                                : accessor.score(dependency);
+                    }
+                    if (!Double.isNaN(dependencyScore)) {
+                        average += dependencyScore;
+                        counter++;
+                    }
+                }
+                nextScores[i] = average / counter;
+                // A score that was not known yet always counts as a change
+                maxChange = Math.max(maxChange,
+                        Double.isNaN(scores[i]) ? Double.POSITIVE_INFINITY : Math.abs(nextScores[i] - scores[i]));
+            }
+            double[] previousScores = scores;
+            scores = nextScores;
+            nextScores = previousScores;
+            if (maxChange <= CYCLE_TOLERANCE) {
+                break;
+            }
+        }
+        int recalculated = 0;
+        for (int i = 0; i < cycle.length; i++) {
+            if (!Double.isNaN(ownScores[i])) {
+                accessor.setScore(cycle[i], scores[i]);
+                recalculated++;
+            }
+        }
+        return recalculated;
+    }
+
+    /**
+     * @param factors Indexes of a set of human factors.
+     * @return The given indexes, in topological order.
+     */
+    private int[] orderOf(BitSet factors) {
+        int[] positions = new int[factors.cardinality()];
+        int next = 0;
+        for (int factor = factors.nextSetBit(0); factor >= 0; factor = factors.nextSetBit(factor + 1)) {
+            positions[next++] = position[factor];
+        }
+        Arrays.sort(positions);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = order[positions[i]];
+        }
+        return positions;
+    }
+
+    /**
+     * Iterative version of Tarjan's algorithm, so that deep dependency chains do
+     * not overflow the stack.
+     */
+    private static List<int[]> stronglyConnectedComponents(int[][] edges) {
+        int size = edges.length;
+        int[] index = new int[size];
+        Arrays.fill(index, -1);
+        int[] low = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] stack = new int[size];
+        int stackSize = 0;
+        int[] callStack = new int[size];
+        int[] edgeCursor = new int[size];
+        int counter = 0;
+        List<int[]> components = new ArrayList<>();
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                if (edgeCursor[node] < edges[node].length) {
+                    int next = edges[node][edgeCursor[node]++];
+                    if (index[next] == -1) {
+                        index[next] = low[next] = counter++;
+                        stack[stackSize++] = next;
+                        onStack[next] = true;
+                        callStack[depth++] = next;
+                    } else if (onStack[next]) {
+                        low[node] = Math.min(low[node], index[next]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+                if (low[node] == index[node]) {
+                    int start = stackSize - 1;
+                    while (stack[start] != node) {
+                        start--;
+                    }
+                    int[] component = Arrays.copyOfRange(stack, start, stackSize);
+                    for (int member : component) {
+                        onStack[member] = false;
+                    }
+                    stackSize = start;
+                    Arrays.sort(component);
+                    components.add(component);
+                }
+            }
+        }
+        return components;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.suken27.humanfactorsjava.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostLoad;
+
+/**
+ * Gives the loaded teams access to the dependency graph of the catalog, so
+ * the dependencies between human factors are not stored for every team, and
+ * applies the configured scoring mode to them.
+ * 
+ * @see HumanFactorFactory#getHumanFactorGraph()
+ */
+@Component
+public class HumanFactorGraphListener {
+
+    @Autowired
+    @Lazy
+    private HumanFactorFactory humanFactorFactory;
+
+    @Value("${com.suken27.humanfactors.scoring.lazy:false}")
+    private boolean lazyScoring;
+
+    @PostLoad
+    public void setCatalogHumanFactorGraph(Team team) {
+        // The graph is resolved when the team needs it, so a team loaded before a
+        // reload of the catalog and used after it gets the reloaded graph
+        team.setCatalogHumanFactorGraph(humanFactorFactory::getHumanFactorGraph);
+        team.setLazyScoring(lazyScoring);
+    }
+
+}
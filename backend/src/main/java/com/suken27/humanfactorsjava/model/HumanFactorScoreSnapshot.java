@@ -0,0 +1,62 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Score of a team human factor at the end of a day. Snapshots are only
+ * appended, so the history of a human factor is read with a range scan of the
+ * (team, human factor, day) index instead of replaying every answer.
+ * 
+ * @see TeamHumanFactor
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_snapshot_team_factor_day", columnList = "team_id, human_factor_id, snapshot_day", unique = true))
+@Data
+public class HumanFactorScoreSnapshot {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+    /**
+     * Id of the team human factor.
+     */
+    @Column(name = "human_factor_id", nullable = false)
+    private Long humanFactorId;
+    @Column(name = "snapshot_day", nullable = false)
+    private LocalDate day;
+    private Double score;
+    /**
+     * Fraction of the users that measure the human factor whose score was known.
+     */
+    private double coverage;
+
+    /**
+     * This constructor should never be used. Use
+     * HumanFactorScoreSnapshot(Team, TeamHumanFactor, LocalDate) instead.
+     * This constructor cannot be removed as hibernate uses the default constructor
+     * to instantiate entities.
+     */
+    public HumanFactorScoreSnapshot() {
+        super();
+    }
+
+    public HumanFactorScoreSnapshot(Team team, TeamHumanFactor humanFactor, LocalDate day) {
+        super();
+        teamId = team.getId();
+        humanFactorId = humanFactor.getId();
+        this.day = day;
+        score = humanFactor.getScore();
+        coverage = team.getUserScoreCoverage(humanFactor);
+    }
+
+}
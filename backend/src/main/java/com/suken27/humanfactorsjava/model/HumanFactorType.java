@@ -4,6 +4,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
@@ -15,9 +19,18 @@ import lombok.ToString;
 
 /**
  * Flyweight class that registers the intrinsic state of a Human factor.
+ * Types are kept, with the rest of the catalog, in the read-only second-level
+ * cache. They are only changed by the catalog seeder on startup and written
+ * through JDBC, never through the entities, and every reload of the catalog
+ * evicts the cache before reading them. Any other change to the catalog tables
+ * must also be followed by a reload, or the cache keeps serving the previous
+ * catalog.
  * @see HumanFactor
+ * @see HumanFactorFactory#reload()
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @Data
 @EqualsAndHashCode(exclude = {"bibliographicSource", "questionTypes", "affectsTo", "actionTypes"})
 @ToString(exclude = {"bibliographicSource", "questionTypes", "affectsTo", "actionTypes"})
@@ -30,12 +43,16 @@ public class HumanFactorType {
     private boolean onlyOnce;
     private Cluster cluster;
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
     private List<BibliographicSource> bibliographicSource;
     @OneToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
     private List<QuestionType> questionTypes;
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
     private List<HumanFactorType> affectsTo;
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
     private List<ActionType> actionTypes;
 
     /**
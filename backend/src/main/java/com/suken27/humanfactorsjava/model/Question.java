@@ -6,6 +6,10 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -28,6 +32,9 @@ import lombok.Data;
  * @see Answer
  */
 @Entity
+// Questions are loaded in batches when several human factors point to their
+// oldest question
+@BatchSize(size = 100)
 @Data
 public class Question {
 
@@ -36,9 +43,13 @@ public class Question {
     private Long id;
     // This list should be a stack, but hibernate does not persist stacks. This list
     // should be used as Last Input First Output.
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // Only the latest answers are kept here, older ones are moved to the answer
+    // archive so loading the list does not depend on how long the question has
+    // been answered.
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Answer> answers;
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     private QuestionType type;
     private LocalDate lastAnswerDateTime;
     private boolean isAnswered;
@@ -74,7 +85,15 @@ public class Question {
     }
 
     public long daysSinceLastAnswer() {
-        return ChronoUnit.DAYS.between(lastAnswerDateTime, LocalDate.now());
+        return daysSinceLastAnswer(LocalDate.now());
+    }
+
+    /**
+     * @param today Current date, so it can be taken once for several questions.
+     * @return Days passed since the last answer to this question.
+     */
+    public long daysSinceLastAnswer(LocalDate today) {
+        return ChronoUnit.DAYS.between(lastAnswerDateTime, today);
     }
 
     public String answerValueToText(Double answer) {
@@ -0,0 +1,148 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Ranking of the actions recommended to a team. The recommendation of an
+ * action is the maximum of the inverse scores of the human factors it belongs
+ * to, and it is only recalculated when the score of one of those human factors
+ * changes. Actions without any scored human factor are not ranked.
+ *
+ * @see Team#getRecommendedActions(int)
+ */
+public class RecommendedActionIndex {
+
+    private final Action[] actions;
+    /**
+     * Actions of each human factor, by their index in the team's dependency graph.
+     */
+    private final int[][] factorActions;
+    /**
+     * Human factors of each action.
+     */
+    private final int[][] actionFactors;
+    private final double[] factorScores;
+    private final double[] recommendations;
+    /**
+     * Ranked actions, from the highest recommendation to the lowest. Ties are
+     * ordered by the id of the action.
+     */
+    private final TreeSet<Integer> ranking;
+
+    /**
+     * @param humanFactors Human factors of the team, indexed by their position in
+     *                     the team's dependency graph.
+     */
+    public RecommendedActionIndex(TeamHumanFactor[] humanFactors) {
+        // Actions are shared by the human factors of a team, so the same instance
+        // identifies the same action
+        Map<Action, Integer> actionIndexes = new IdentityHashMap<>();
+        factorActions = new int[humanFactors.length][];
+        for (int factor = 0; factor < humanFactors.length; factor++) {
+            List<Action> factorActionList = humanFactors[factor].getActions();
+            factorActions[factor] = factorActionList == null ? new int[0]
+                    : factorActionList.stream()
+                            .mapToInt(action -> actionIndexes.computeIfAbsent(action, key -> actionIndexes.size()))
+                            .distinct().toArray();
+        }
+        actions = new Action[actionIndexes.size()];
+        actionIndexes.forEach((action, index) -> actions[index] = action);
+        int[] degrees = new int[actions.length];
+        for (int[] factorActionIndexes : factorActions) {
+            for (int action : factorActionIndexes) {
+                degrees[action]++;
+            }
+        }
+        actionFactors = new int[actions.length][];
+        for (int action = 0; action < actions.length; action++) {
+            actionFactors[action] = new int[degrees[action]];
+            degrees[action] = 0;
+        }
+        for (int factor = 0; factor < factorActions.length; factor++) {
+            for (int action : factorActions[factor]) {
+                actionFactors[action][degrees[action]++] = factor;
+            }
+        }
+        factorScores = new double[humanFactors.length];
+        Arrays.fill(factorScores, Double.NaN);
+        recommendations = new double[actions.length];
+        Arrays.fill(recommendations, Double.NaN);
+        ranking = new TreeSet<>(Comparator.<Integer>comparingDouble(action -> -recommendations[action])
+                .thenComparing(action -> actions[action].getId(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingInt(Integer::intValue));
+        synchronize(humanFactors);
+    }
+
+    /**
+     * Updates the score of a human factor and the recommendations of its actions.
+     *
+     * @param factor Index of the human factor.
+     * @param score  New score of the human factor, NaN if it is not known.
+     * @return True if the score of the human factor changed.
+     */
+    public boolean update(int factor, double score) {
+        if (Double.compare(factorScores[factor], score) == 0) {
+            return false;
+        }
+        factorScores[factor] = score;
+        for (int action : factorActions[factor]) {
+            double recommendation = Double.NaN;
+            for (int actionFactor : actionFactors[action]) {
+                double factorScore = factorScores[actionFactor];
+                if (!Double.isNaN(factorScore) && !(recommendation >= 1 - factorScore)) {
+                    recommendation = 1 - factorScore;
+                }
+            }
+            if (Double.compare(recommendations[action], recommendation) != 0) {
+                ranking.remove(action);
+                recommendations[action] = recommendation;
+                if (!Double.isNaN(recommendation)) {
+                    ranking.add(action);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Updates the index with the scores of human factors that were set without
+     * notifying it.
+     *
+     * @param humanFactors Human factors of the team, indexed by their position in
+     *                     the team's dependency graph.
+     * @return Amount of human factors whose score changed.
+     */
+    public int synchronize(TeamHumanFactor[] humanFactors) {
+        int changed = 0;
+        for (int factor = 0; factor < humanFactors.length; factor++) {
+            Double score = humanFactors[factor].getScore();
+            if (update(factor, score == null ? Double.NaN : score)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param top Maximum amount of actions returned.
+     * @return The most recommended actions and their recommendation, from the
+     *         highest to the lowest.
+     */
+    public Map<Action, Double> getTop(int top) {
+        Map<Action, Double> topActions = new LinkedHashMap<>();
+        Iterator<Integer> iterator = ranking.iterator();
+        while (topActions.size() < top && iterator.hasNext()) {
+            int action = iterator.next();
+            topActions.put(actions[action], recommendations[action]);
+        }
+        return topActions;
+    }
+
+}
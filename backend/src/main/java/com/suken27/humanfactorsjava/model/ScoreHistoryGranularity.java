@@ -0,0 +1,27 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Periods in which the daily score snapshots can be rolled up.
+ */
+public enum ScoreHistoryGranularity {
+    DAY, WEEK, MONTH;
+
+    /**
+     * @param day Any day.
+     * @return First day of the period that contains the given day.
+     */
+    public LocalDate periodStart(LocalDate day) {
+        switch (this) {
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+}
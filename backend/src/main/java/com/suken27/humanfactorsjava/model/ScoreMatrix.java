@@ -0,0 +1,146 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Dense matrix with the score of each user in each human factor of a team.
+ * Rows are human factors, identified by their index in the team's dependency
+ * graph, and columns are the score slots of the users. NaN means that the
+ * human factor has not been measured for that user yet.
+ *
+ * @see HumanFactorGraph
+ * @see User#getScoreSlot()
+ */
+public class ScoreMatrix {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final long[] rowTypeIds;
+    private int columns;
+    private double[] scores;
+
+    /**
+     * @param rowTypeIds Id of the human factor type of each row.
+     * @param columns    Initial amount of user slots.
+     */
+    public ScoreMatrix(long[] rowTypeIds, int columns) {
+        this.rowTypeIds = rowTypeIds.clone();
+        this.columns = columns;
+        scores = new double[rowTypeIds.length * columns];
+        Arrays.fill(scores, Double.NaN);
+    }
+
+    private ScoreMatrix(long[] rowTypeIds, int columns, double[] scores) {
+        this.rowTypeIds = rowTypeIds;
+        this.columns = columns;
+        this.scores = scores;
+    }
+
+    public int getRows() {
+        return rowTypeIds.length;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param typeIds Id of the human factor type of each row.
+     * @return True if the rows of this matrix correspond to the given human
+     *         factor types, in the same order.
+     */
+    public boolean hasRows(long[] typeIds) {
+        return Arrays.equals(rowTypeIds, typeIds);
+    }
+
+    public double get(int row, int column) {
+        if (column >= columns) {
+            return Double.NaN;
+        }
+        return scores[row * columns + column];
+    }
+
+    public void set(int row, int column, double score) {
+        ensureColumns(column + 1);
+        scores[row * columns + column] = score;
+    }
+
+    private void ensureColumns(int required) {
+        if (required <= columns) {
+            return;
+        }
+        // Grows geometrically so adding members one by one does not copy the matrix
+        // every time
+        int newColumns = Math.max(required, columns * 2);
+        double[] newScores = new double[rowTypeIds.length * newColumns];
+        Arrays.fill(newScores, Double.NaN);
+        for (int row = 0; row < rowTypeIds.length; row++) {
+            System.arraycopy(scores, row * columns, newScores, row * newColumns, columns);
+        }
+        scores = newScores;
+        columns = newColumns;
+    }
+
+    /**
+     * Serializes the matrix as: format version, rows, columns, the type id of each
+     * row and the scores in row-major order.
+     *
+     * @return Binary representation of the matrix.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES + rowTypeIds.length * Long.BYTES
+                + scores.length * Double.BYTES);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(rowTypeIds.length);
+        buffer.putInt(columns);
+        for (long typeId : rowTypeIds) {
+            buffer.putLong(typeId);
+        }
+        for (double score : scores) {
+            buffer.putDouble(score);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param bytes Binary representation of a matrix.
+     * @return The matrix represented.
+     * @see #toBytes()
+     */
+    public static ScoreMatrix fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported score matrix format version " + version);
+        }
+        long[] rowTypeIds = new long[buffer.getInt()];
+        int columns = buffer.getInt();
+        for (int row = 0; row < rowTypeIds.length; row++) {
+            rowTypeIds[row] = buffer.getLong();
+        }
+        double[] scores = new double[rowTypeIds.length * columns];
+        buffer.asDoubleBuffer().get(scores);
+        return new ScoreMatrix(rowTypeIds, columns, scores);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(rowTypeIds) + Arrays.hashCode(scores);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ScoreMatrix)) {
+            return false;
+        }
+        ScoreMatrix other = (ScoreMatrix) obj;
+        // Arrays.equals compares doubles by their bits, so NaN equals NaN
+        return columns == other.columns && Arrays.equals(rowTypeIds, other.rowTypeIds)
+                && Arrays.equals(scores, other.scores);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.suken27.humanfactorsjava.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Persists a score matrix as a single binary column.
+ * @see ScoreMatrix
+ */
+@Converter
+public class ScoreMatrixConverter implements AttributeConverter<ScoreMatrix, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(ScoreMatrix attribute) {
+        return attribute == null ? null : attribute.toBytes();
+    }
+
+    @Override
+    public ScoreMatrix convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : ScoreMatrix.fromBytes(dbData);
+    }
+
+}
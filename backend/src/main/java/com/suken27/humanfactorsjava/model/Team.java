@@ -6,21 +6,35 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import java.time.DayOfWeek;
@@ -29,11 +43,46 @@ import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
 @Entity
+@EntityListeners(HumanFactorGraphListener.class)
+// Fetch plans of each use case. The relations are lazy, so each use case only
+// loads the part of the team it reads. Only one list can be fetched per query,
+// so the human factors and questions of the users are loaded with subselects.
+@NamedEntityGraph(name = Team.ANSWER_GRAPH, attributeNodes = { @NamedAttributeNode("members"),
+		@NamedAttributeNode("humanFactors") })
+@NamedEntityGraph(name = Team.LAUNCH_GRAPH, attributeNodes = @NamedAttributeNode("members"))
+@NamedEntityGraph(name = Team.DASHBOARD_GRAPH, attributeNodes = @NamedAttributeNode("humanFactors"))
+@NamedEntityGraph(name = Team.EXPORT_GRAPH, attributeNodes = @NamedAttributeNode(value = "humanFactors", subgraph = "actions"),
+		subgraphs = @NamedSubgraph(name = "actions", attributeNodes = @NamedAttributeNode("actions")))
 @Data
-@EqualsAndHashCode(exclude = { "manager", "members", "humanFactors" })
+@EqualsAndHashCode(exclude = { "manager", "members", "humanFactors", "catalogHumanFactorGraph", "humanFactorGraph",
+		"indexedHumanFactors", "scoreAccessor", "recommendedActionIndex", "lazyScoring", "usersByEmail", "allMembers" })
 @Slf4j
 public class Team {
 
+	/**
+	 * Members and human factors of the team, to answer questions.
+	 */
+	public static final String ANSWER_GRAPH = "Team.answer";
+	/**
+	 * Members of the team, to launch their questions.
+	 */
+	public static final String LAUNCH_GRAPH = "Team.launch";
+	/**
+	 * Human factors of the team, to read their scores.
+	 */
+	public static final String DASHBOARD_GRAPH = "Team.dashboard";
+	/**
+	 * Human factors of the team and their actions, to rank the recommended
+	 * actions.
+	 */
+	public static final String EXPORT_GRAPH = "Team.export";
+
+	/**
+	 * Maximum difference allowed between the running sums and a full scan, as
+	 * the running sums accumulate rounding errors.
+	 */
+	private static final double AGGREGATE_TOLERANCE = 1e-9;
+
 	@Id
 	@GeneratedValue
 	private Long id;
@@ -43,19 +92,34 @@ public class Team {
 
 	@OneToMany(mappedBy = "team", cascade = CascadeType.ALL)
 	private List<TeamMember> members;
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@ElementCollection
 	private Map<HumanFactorType, TeamHumanFactor> humanFactors;
-	// TODO: Hash code could be the same for two different users, another value
-	// should be used for the map key
 	/**
-	 * This map is a flattened nested map that represents a Map<HumanFactorType,
-	 * Map<User, Double>>.
-	 * The String key is built using HumanFactorType.getId() + "." +
-	 * User.hashCode().
+	 * Score of each user in each human factor. Rows are indexed by the position
+	 * of the human factor in the dependency graph and columns by the score slot of
+	 * the user.
+	 * 
+	 * @see User#getScoreSlot()
 	 */
-	@ElementCollection(fetch = FetchType.EAGER)
-	private Map<String, Double> humanFactorUserScores;
+	@Lob
+	@Column(length = 16777215)
+	@Convert(converter = ScoreMatrixConverter.class)
+	private ScoreMatrix humanFactorUserScores;
+	/**
+	 * Incremented every time a human factor is marked as dirty. Scores are up to
+	 * date when it equals the version of the last materialization.
+	 * 
+	 * @see #materializeScores()
+	 */
+	private long scoreVersion;
+	private long materializedScoreVersion;
+	/**
+	 * Optimistic lock of the team. Answers to the same team in concurrent
+	 * transactions conflict, as each of them changes the scores of the team.
+	 */
+	@Version
+	private long version;
 	@JsonFormat(pattern = "HH:mm")
 	private LocalTime questionSendingTime;
 	private ZoneId timeZone;
@@ -72,6 +136,53 @@ public class Team {
 
 	private int questionDayOfMonth = 1;    
 
+	/**
+	 * Source of the dependency graph of the catalog, shared by every team. It is
+	 * set when the team is created or loaded.
+	 * 
+	 * @see HumanFactorGraphListener
+	 */
+	@Transient
+	private Supplier<HumanFactorGraph> catalogHumanFactorGraph;
+	/**
+	 * Dependency graph of the team's human factors. It is taken from the catalog
+	 * graph the first time the scores are updated, together with the human
+	 * factors indexed by their position in the graph.
+	 */
+	@Transient
+	private HumanFactorGraph humanFactorGraph;
+	@Transient
+	private TeamHumanFactor[] indexedHumanFactors;
+	@Transient
+	private TeamScoreAccessor scoreAccessor;
+	/**
+	 * Ranking of the recommended actions. It is built on the first read and
+	 * updated every time the score of a human factor is recalculated.
+	 */
+	@Transient
+	private RecommendedActionIndex recommendedActionIndex;
+	/**
+	 * If true, answers only mark the changed human factors as dirty, and their
+	 * scores are recalculated when they are read. It is set when the team is
+	 * loaded.
+	 * 
+	 * @see #materializeScores()
+	 * @see HumanFactorGraphListener
+	 */
+	@Transient
+	private boolean lazyScoring;
+	/**
+	 * Users of the team (members and manager) by email, so answers and
+	 * membership checks do not scan the members. It is built on first use and
+	 * kept in sync by addMember and removeMember.
+	 */
+	@Transient
+	private Map<String, User> usersByEmail;
+	/**
+	 * Members and manager of the team, in that order.
+	 */
+	@Transient
+	private List<User> allMembers;
 	
 	/**
 	 * This constructor should never be used. Use Team(TeamManager) instead.
@@ -81,7 +192,20 @@ public class Team {
 	}
 
 	public Team(TeamManager teamManager, List<TeamHumanFactor> humanFactors) {
+		this(teamManager, humanFactors, null);
+	}
+
+	/**
+	 * @param teamManager             Manager of the team.
+	 * @param humanFactors            Human factors of the team.
+	 * @param catalogHumanFactorGraph Source of the dependency graph of the catalog.
+	 *                                If null, the graph is compiled from the
+	 *                                dependencies of the team's human factor types.
+	 */
+	public Team(TeamManager teamManager, List<TeamHumanFactor> humanFactors,
+			Supplier<HumanFactorGraph> catalogHumanFactorGraph) {
 		super();
+		this.catalogHumanFactorGraph = catalogHumanFactorGraph;
 		manager = teamManager;
 		members = new ArrayList<>();
 		// This sets the question sending time to 9:00 spanish time.
@@ -96,16 +220,25 @@ public class Team {
 		for (TeamHumanFactor teamHumanFactor : humanFactors) {
 			this.humanFactors.put(teamHumanFactor.getType(), teamHumanFactor);
 		}
-		humanFactorUserScores = new HashMap<>();
-		for (TeamHumanFactor teamHumanFactor : humanFactors) {
-			String teamHumanFactorId = teamHumanFactor.getType().getId().toString();
-			if (teamHumanFactor.getType().isMemberMeasured()) {
-				for (User user : members) {
-					humanFactorUserScores.put(teamHumanFactorId + "." + user.hashCode(), null);
-				}
-			}
-			humanFactorUserScores.put(teamHumanFactorId + "." + manager.hashCode(), null);
+		// The score matrix is created by the graph initialization, with the manager in
+		// the first slot
+		manager.setScoreSlot(0);
+		getHumanFactorGraph();
+	}
+
+	/**
+	 * Builds the structures used to score the team, if they were not built yet.
+	 * 
+	 * @return True if the score matrix had to be rebuilt from the users' human
+	 *         factors, which may change the score slots of the users.
+	 */
+	public boolean prepareScores() {
+		if (humanFactorGraph != null) {
+			return false;
 		}
+		ScoreMatrix previousUserScores = humanFactorUserScores;
+		getHumanFactorGraph();
+		return humanFactorUserScores != previousUserScores;
 	}
 
 	/**
@@ -116,7 +249,16 @@ public class Team {
 	 *         team's time zone.
 	 */
 	public LocalTime getZonedQuestionSendingTime() {
-		return LocalDateTime.of(LocalDate.now(), questionSendingTime).atZone(ZoneId.systemDefault())
+		return toZonedTime(questionSendingTime, timeZone);
+	}
+
+	/**
+	 * @param systemTime Time of the day in the system's time zone.
+	 * @param timeZone   Time zone of a team.
+	 * @return The same time of the day in the team's time zone.
+	 */
+	public static LocalTime toZonedTime(LocalTime systemTime, ZoneId timeZone) {
+		return LocalDateTime.of(LocalDate.now(), systemTime).atZone(ZoneId.systemDefault())
 				.withZoneSameInstant(timeZone).toLocalTime();
 	}
 
@@ -134,13 +276,48 @@ public class Team {
 	}
 
 	public void addMember(TeamMember member) {
+		putMember(member);
+		updateMemberMeasuredScores();
+	}
+
+	/**
+	 * Adds several members to the team. The scores of the human factors are
+	 * recalculated once, after every member has been added.
+	 * 
+	 * @param newMembers Members to add to the team.
+	 * @see #addMember(TeamMember)
+	 */
+	public void addMembers(Collection<TeamMember> newMembers) {
+		if (newMembers.isEmpty()) {
+			return;
+		}
+		for (TeamMember member : newMembers) {
+			putMember(member);
+		}
+		updateMemberMeasuredScores();
+	}
+
+	private void putMember(TeamMember member) {
+		getHumanFactorGraph();
+		member.setScoreSlot(freeScoreSlot());
 		members.add(member);
-		for (Entry<HumanFactorType, TeamHumanFactor> entry : humanFactors.entrySet()) {
-			if (entry.getKey().isMemberMeasured()) {
-				humanFactorUserScores.put(entry.getKey() + "." + member.hashCode(), null);
-				updateHumanFactorScores(entry.getKey(), null);
+		if (usersByEmail != null) {
+			usersByEmail.put(member.getEmail(), member);
+		}
+		allMembers = null;
+		clearUserScores(member);
+		writeUserScores(member);
+	}
+
+	private void updateMemberMeasuredScores() {
+		HumanFactorGraph graph = getHumanFactorGraph();
+		BitSet changed = new BitSet();
+		for (HumanFactorType humanFactorType : humanFactors.keySet()) {
+			if (humanFactorType.isMemberMeasured()) {
+				changed.set(graph.indexOf(humanFactorType.getId()));
 			}
 		}
+		updateHumanFactorScores(changed);
 	}
 
 	/**
@@ -150,16 +327,19 @@ public class Team {
 	 * @param member Member to remove from the team.
 	 */
 	public void removeMember(TeamMember member) {
+		getHumanFactorGraph();
 		members.remove(member);
-		for (Entry<HumanFactorType, TeamHumanFactor> entry : humanFactors.entrySet()) {
-			if (entry.getKey().isMemberMeasured()) {
-				humanFactorUserScores.remove(entry.getKey() + "." + member.hashCode(), null);
-				updateHumanFactorScores(entry.getKey(), null);
-			}
+		// The manager or another member may share the email, so the index is rebuilt
+		usersByEmail = null;
+		allMembers = null;
+		if (member.getScoreSlot() != null) {
+			clearUserScores(member);
 		}
+		updateMemberMeasuredScores();
 		member.setDeleted(true);
 		member.setDeletionTime(LocalDateTime.now());
 		member.setTeam(null);
+		member.setScoreSlot(null);
 	}
 
 	public boolean isMember(TeamMember member) {
@@ -167,7 +347,20 @@ public class Team {
 	}
 
 	public boolean isMember(String email) {
-		return members.stream().anyMatch(member -> member.getEmail().equals(email));
+		User user = getUsersByEmail().get(email);
+		return user != null && user != manager;
+	}
+
+	public void setMembers(List<TeamMember> members) {
+		this.members = members;
+		usersByEmail = null;
+		allMembers = null;
+	}
+
+	public void setManager(TeamManager manager) {
+		this.manager = manager;
+		usersByEmail = null;
+		allMembers = null;
 	}
 
 	public void setTimeZone(ZoneId timeZone) {
@@ -194,24 +387,32 @@ public class Team {
 	 *         the score of the human factor associated with the action.
 	 */
 	public Map<Action, Double> getRecommendedActions() {
-		Map<Action, Double> recommendedActions = new HashMap<>();
-		for (TeamHumanFactor humanFactor : humanFactors.values()) {
-			if (humanFactor.getScore() != null) {
-				for (Action action : humanFactor.getActions()) {
-					// If the action has already been recommended, the score is the maximum between all the scores calculated.
-					if(recommendedActions.get(action) != null) {
-						recommendedActions.put(action, Math.max(recommendedActions.get(action), 1 - humanFactor.getScore()));
-					} else {
-						recommendedActions.put(action, 1 - humanFactor.getScore());
-					}
-				}
-			}
+		return getRecommendedActions(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Gets the most recommended actions for the team, from the highest
+	 * recommendation to the lowest. The ranking is kept up to date as the scores
+	 * of the human factors change, so it is not rebuilt on every call.
+	 * 
+	 * @param top Maximum amount of actions returned.
+	 * @return Map of recommended actions and their score, in ranking order.
+	 * @see #getRecommendedActions()
+	 */
+	public Map<Action, Double> getRecommendedActions(int top) {
+		getHumanFactorGraph();
+		if (recommendedActionIndex == null) {
+			recommendedActionIndex = new RecommendedActionIndex(indexedHumanFactors);
+		} else {
+			// Catches the scores set directly on the human factors
+			recommendedActionIndex.synchronize(indexedHumanFactors);
 		}
-		return recommendedActions;
+		return recommendedActionIndex.getTop(top);
 	}
 
 	/**
-	 * Answers the question for the given user and returns the answer in text.
+	 * Answers the question for the given user and returns the answer in text. The
+	 * human factor of the question is found among the user's human factors.
 	 * 
 	 * @param userEmail Email of the user that answers the question.
 	 * @param question  Question to answer.
@@ -220,103 +421,435 @@ public class Team {
 	 * @see Question
 	 */
 	public String answerQuestion(String userEmail, Question question, Double answer) {
-		User user = getMember(userEmail);
-		HumanFactor humanFactor = user.answerQuestion(question, answer);
-		if (humanFactor != null) {
-			String key = humanFactor.getType().getId() + "." + user.hashCode();
-			humanFactorUserScores.put(key, humanFactor.getScore());
-			updateHumanFactorScores(humanFactor.getType(), null);
+		HumanFactor humanFactor = getMember(userEmail).getHumanFactorByQuestion(question);
+		return answerQuestion(userEmail, humanFactor, ownQuestion(humanFactor, question), answer);
+	}
+
+	/**
+	 * Answers the question for the given user and returns the answer in text.
+	 * 
+	 * @param userEmail   Email of the user that answers the question.
+	 * @param humanFactor Human factor of the user that owns the question.
+	 * @param question    Question to answer, one of the questions of the human
+	 *                    factor.
+	 * @param answer      Answer to the question (value between 0.0 and 1.0)
+	 * @return Answer to the question in text.
+	 */
+	public String answerQuestion(String userEmail, HumanFactor humanFactor, Question question, Double answer) {
+		int factor = applyAnswer(userEmail, humanFactor, question, answer);
+		if (factor >= 0) {
+			if (lazyScoring) {
+				markScoresDirty(factor);
+			} else {
+				humanFactorGraph.propagate(factor, scoreAccessor);
+			}
 		}
 		return question.answerValueToText(answer);
 	}
 
+	/**
+	 * Answers several questions of the team's users at once. The scores of the
+	 * human factors are propagated once after every answer has been applied, so
+	 * each affected human factor is recalculated only once.
+	 * 
+	 * @param userEmails Email of the user that answers each question.
+	 * @param questions  Questions to answer.
+	 * @param answers    Answer to each question (value between 0.0 and 1.0)
+	 * @return Answer to each question in text, in the same order.
+	 * @see #answerQuestion(String, Question, Double)
+	 */
+	public List<String> answerQuestions(List<String> userEmails, List<Question> questions, List<Double> answers) {
+		List<HumanFactor> humanFactors = new ArrayList<>();
+		List<Question> ownQuestions = new ArrayList<>();
+		for (int i = 0; i < questions.size(); i++) {
+			HumanFactor humanFactor = getMember(userEmails.get(i)).getHumanFactorByQuestion(questions.get(i));
+			humanFactors.add(humanFactor);
+			ownQuestions.add(ownQuestion(humanFactor, questions.get(i)));
+		}
+		return answerQuestions(userEmails, humanFactors, ownQuestions, answers);
+	}
+
+	/**
+	 * @param userEmails   Email of the user that answers each question.
+	 * @param humanFactors Human factor of the user that owns each question.
+	 * @param questions    Questions to answer.
+	 * @param answers      Answer to each question (value between 0.0 and 1.0)
+	 * @return Answer to each question in text, in the same order.
+	 * @see #answerQuestions(List, List, List)
+	 */
+	public List<String> answerQuestions(List<String> userEmails, List<HumanFactor> humanFactors,
+			List<Question> questions, List<Double> answers) {
+		List<String> answerTexts = new ArrayList<>();
+		BitSet changed = new BitSet();
+		for (int i = 0; i < questions.size(); i++) {
+			int factor = applyAnswer(userEmails.get(i), humanFactors.get(i), questions.get(i), answers.get(i));
+			if (factor >= 0) {
+				changed.set(factor);
+			}
+			answerTexts.add(questions.get(i).answerValueToText(answers.get(i)));
+		}
+		updateHumanFactorScores(changed);
+		return answerTexts;
+	}
+
+	/**
+	 * @return The instance of the question held by the human factor, or the given
+	 *         one if the question does not belong to it.
+	 */
+	private static Question ownQuestion(HumanFactor humanFactor, Question question) {
+		Question ownQuestion = humanFactor == null ? null : humanFactor.getQuestion(question.getId());
+		return ownQuestion == null ? question : ownQuestion;
+	}
+
+	/**
+	 * Answers the question for the given user and updates the user's score in the
+	 * score matrix, without propagating it.
+	 * 
+	 * @return Index in the dependency graph of the human factor whose score
+	 *         changed, or -1 if no team human factor changed.
+	 */
+	private int applyAnswer(String userEmail, HumanFactor humanFactor, Question question, Double answer) {
+		if (humanFactor == null) {
+			log.error("Question [{}] does not belong to any human factor", question.getId());
+			return -1;
+		}
+		if (humanFactor.answerQuestion(question, answer) == null) {
+			return -1;
+		}
+		int factor = getHumanFactorGraph().indexOf(humanFactor.getType().getId());
+		if (factor >= 0) {
+			setUserScore(factor, getMember(userEmail), humanFactor.getScore());
+		}
+		return factor;
+	}
+
+	/**
+	 * @param humanFactor Human factor of the team.
+	 * @return Human factors of the team that depend on the given one.
+	 */
+	public List<TeamHumanFactor> getAffectsTo(TeamHumanFactor humanFactor) {
+		HumanFactorGraph graph = getHumanFactorGraph();
+		return toHumanFactors(graph.getAffectsTo(graph.indexOf(humanFactor.getType().getId())));
+	}
+
+	/**
+	 * @param humanFactor Human factor of the team.
+	 * @return Human factors of the team that the given one depends on.
+	 */
+	public List<TeamHumanFactor> getAffectedBy(TeamHumanFactor humanFactor) {
+		HumanFactorGraph graph = getHumanFactorGraph();
+		return toHumanFactors(graph.getAffectedBy(graph.indexOf(humanFactor.getType().getId())));
+	}
+
+	private List<TeamHumanFactor> toHumanFactors(int[] factors) {
+		List<TeamHumanFactor> teamHumanFactors = new ArrayList<>();
+		for (int factor : factors) {
+			teamHumanFactors.add(indexedHumanFactors[factor]);
+		}
+		return teamHumanFactors;
+	}
+
 	private User getMember(String memberEmail) {
-		for (User user : getAllMembers()) {
-			if (user.getEmail().equals(memberEmail)) {
-				return user;
+		return getUsersByEmail().get(memberEmail);
+	}
+
+	private Map<String, User> getUsersByEmail() {
+		if (usersByEmail == null) {
+			usersByEmail = new HashMap<>();
+			// If a member shares the email of the manager, the member is found first
+			if (manager != null) {
+				usersByEmail.put(manager.getEmail(), manager);
+			}
+			for (TeamMember member : members) {
+				usersByEmail.put(member.getEmail(), member);
 			}
 		}
-		return null;
+		return usersByEmail;
 	}
 
-	private List<User> getAllMembers() {
-		List<User> allMembers = new ArrayList<>(this.members);
-		allMembers.add(manager);
+	/**
+	 * @return Unmodifiable list with the members and the manager of the team. It
+	 *         is reused until the members change.
+	 */
+	public List<User> getAllMembers() {
+		if (allMembers == null) {
+			List<User> users = new ArrayList<>(this.members);
+			users.add(manager);
+			allMembers = Collections.unmodifiableList(users);
+		}
 		return allMembers;
 	}
 
-	private Double updateHumanFactorScores(HumanFactorType humanFactorType, HumanFactorType origin) {
-		Double average = updateHumanFactorUserScores(humanFactorType);
-		if (average == null) {
-			return null;
-		}
-		TeamHumanFactor teamHumanFactor = humanFactors.get(humanFactorType);
-		int humanFactorScoresCounter = 1;
-		for (TeamHumanFactor affectedBy : teamHumanFactor.getAffectedBy()) {
-			if (affectedBy.getType() != origin) {
-				// Precondition: No circular dependencies between human factors
-				Double affectedByScore = updateHumanFactorScores(affectedBy.getType(), humanFactorType);
-				// If not all the depending factors are available, the human factor score is
-				// still calculated
-				if (affectedByScore != null) {
-					average += affectedByScore;
-					humanFactorScoresCounter++;
+	private HumanFactorGraph getHumanFactorGraph() {
+		if (humanFactorGraph == null) {
+			if (catalogHumanFactorGraph != null) {
+				long[] typeIds = humanFactors.keySet().stream().mapToLong(HumanFactorType::getId).sorted().toArray();
+				humanFactorGraph = catalogHumanFactorGraph.get().restrictTo(typeIds);
+			} else {
+				humanFactorGraph = HumanFactorGraph.of(humanFactors.keySet());
+			}
+			indexedHumanFactors = new TeamHumanFactor[humanFactorGraph.size()];
+			for (TeamHumanFactor teamHumanFactor : humanFactors.values()) {
+				indexedHumanFactors[humanFactorGraph.indexOf(teamHumanFactor.getType().getId())] = teamHumanFactor;
+			}
+			scoreAccessor = new TeamScoreAccessor();
+			if (humanFactorUserScores == null || !humanFactorUserScores.hasRows(humanFactorGraph.getTypeIds())) {
+				rebuildUserScores();
+			}
+		}
+		return humanFactorGraph;
+	}
+
+	/**
+	 * Rebuilds the score matrix from the scores of the users' human factors. This
+	 * happens for teams persisted before the matrix existed and when the human
+	 * factors of the team no longer match the rows of the matrix.
+	 */
+	private void rebuildUserScores() {
+		List<User> users = getAllMembers();
+		Set<Integer> usedSlots = new HashSet<>();
+		for (User user : users) {
+			if (user.getScoreSlot() != null && !usedSlots.add(user.getScoreSlot())) {
+				user.setScoreSlot(null);
+			}
+		}
+		for (User user : users) {
+			if (user.getScoreSlot() == null) {
+				int slot = 0;
+				while (usedSlots.contains(slot)) {
+					slot++;
+				}
+				user.setScoreSlot(slot);
+				usedSlots.add(slot);
+			}
+		}
+		humanFactorUserScores = new ScoreMatrix(humanFactorGraph.getTypeIds(), users.size());
+		for (TeamHumanFactor teamHumanFactor : indexedHumanFactors) {
+			teamHumanFactor.clearUserScores();
+		}
+		for (User user : users) {
+			writeUserScores(user);
+		}
+	}
+
+	/**
+	 * Copies the scores of the fully measured human factors of a user into its
+	 * slot of the score matrix.
+	 */
+	private void writeUserScores(User user) {
+		for (HumanFactor humanFactor : user.getHumanFactors()) {
+			int factor = humanFactorGraph.indexOf(humanFactor.getType().getId());
+			if (factor >= 0 && humanFactor.isFullyMeasured() && humanFactor.getScore() != null) {
+				setUserScore(factor, user, humanFactor.getScore());
+			}
+		}
+	}
+
+	/**
+	 * Marks every human factor of a user as not measured.
+	 */
+	private void clearUserScores(User user) {
+		for (int factor = 0; factor < indexedHumanFactors.length; factor++) {
+			setUserScore(factor, user, Double.NaN);
+		}
+	}
+
+	/**
+	 * Sets the score of a user in a human factor, updating the running aggregates
+	 * of the human factor with the difference if the user measures it.
+	 * 
+	 * @param factor Index of the human factor in the dependency graph.
+	 * @param user   User whose score changed.
+	 * @param score  New score of the user, NaN if it is not measured.
+	 */
+	private void setUserScore(int factor, User user, double score) {
+		double previousScore = humanFactorUserScores.get(factor, user.getScoreSlot());
+		humanFactorUserScores.set(factor, user.getScoreSlot(), score);
+		TeamHumanFactor teamHumanFactor = indexedHumanFactors[factor];
+		if (user == manager || teamHumanFactor.getType().isMemberMeasured()) {
+			teamHumanFactor.replaceUserScore(previousScore, score);
+		}
+	}
+
+	/**
+	 * Checks the running aggregates of every human factor against a full scan of
+	 * the users' scores. Meant for verification, as it visits every member.
+	 * 
+	 * @return True if the running aggregates of every human factor match the
+	 *         scores of the users.
+	 */
+	public boolean verifyUserScoreAggregates() {
+		getHumanFactorGraph();
+		for (int factor = 0; factor < indexedHumanFactors.length; factor++) {
+			TeamHumanFactor teamHumanFactor = indexedHumanFactors[factor];
+			List<User> users = teamHumanFactor.getType().isMemberMeasured() ? getAllMembers() : List.of(manager);
+			double sum = 0.0;
+			int count = 0;
+			for (User user : users) {
+				double userScore = humanFactorUserScores.get(factor, user.getScoreSlot());
+				if (!Double.isNaN(userScore)) {
+					sum += userScore;
+					count++;
 				}
 			}
+			if (count != teamHumanFactor.getUserScoreCount()
+					|| Math.abs(sum - teamHumanFactor.getUserScoreSum()) > AGGREGATE_TOLERANCE) {
+				log.warn("Running aggregates of human factor {} of team {} do not match its users' scores",
+						teamHumanFactor.getType().getId(), id);
+				return false;
+			}
 		}
-		// Every dependant human factor has the same weight in the average than the
-		// human factor being calculated
-		average /= humanFactorScoresCounter;
-		humanFactors.get(humanFactorType).setScore(average);
-		// Update the scores of the human factors that depend on this one
-		for (TeamHumanFactor affectsTo : teamHumanFactor.getAffectsTo()) {
-			if (affectsTo.getType() != origin) {
-				// Precondition: No circular dependencies between human factors
-				updateHumanFactorScores(affectsTo.getType(), humanFactorType);
+		return true;
+	}
+
+	/**
+	 * @return Lowest score slot not used by any user of the team.
+	 */
+	private int freeScoreSlot() {
+		BitSet used = new BitSet();
+		for (User user : getAllMembers()) {
+			if (user.getScoreSlot() != null) {
+				used.set(user.getScoreSlot());
 			}
 		}
-		return average;
+		return used.nextClearBit(0);
 	}
 
 	/**
-	 * Updates the scores of the users for the given human factor type.
+	 * Updates the scores of the given human factors and of every human factor
+	 * depending on them. Each affected human factor is recalculated once. With
+	 * lazy scoring, the human factors are only marked as dirty.
 	 * 
-	 * @param humanFactorType Human factor type to update the scores.
-	 * @return Average score of the users for the given human factor type. If the
-	 *         score cannot be calculated, null is returned. If there is no
-	 *         questions to calculate the score, 0.0 is returned.
-	 */
-	private Double updateHumanFactorUserScores(HumanFactorType humanFactorType) {
-		Double average = 0.0;
-		int membersCounter = 1;
+	 * @param changed Indexes in the dependency graph of the human factors that
+	 *                changed.
+	 * @see HumanFactorGraph#propagate(BitSet, HumanFactorGraph.ScoreAccessor)
+	 */
+	private void updateHumanFactorScores(BitSet changed) {
+		if (changed.isEmpty()) {
+			return;
+		}
+		if (lazyScoring) {
+			for (int factor = changed.nextSetBit(0); factor >= 0; factor = changed.nextSetBit(factor + 1)) {
+				markScoresDirty(factor);
+			}
+		} else {
+			getHumanFactorGraph().propagate(changed, scoreAccessor);
+		}
+	}
+
+	private void markScoresDirty(int factor) {
+		indexedHumanFactors[factor].setScoreDirty(true);
+		scoreVersion++;
+	}
+
+	/**
+	 * Recalculates every score of the team from the current scores of its users'
+	 * human factors and the current dependencies of the catalog, as needed after
+	 * the catalog changes.
+	 */
+	public void recalculateScores() {
+		HumanFactorGraph graph = getHumanFactorGraph();
+		rebuildUserScores();
+		for (TeamHumanFactor teamHumanFactor : indexedHumanFactors) {
+			teamHumanFactor.setScoreDirty(false);
+		}
+		BitSet all = new BitSet();
+		all.set(0, graph.size());
+		graph.propagate(all, scoreAccessor);
+		materializedScoreVersion = scoreVersion;
+	}
+
+	/**
+	 * Recalculates the scores of the human factors marked as dirty, and of every
+	 * human factor depending on them. The scores are only recalculated once per
+	 * score version, so consecutive reads without answers in between do not
+	 * recalculate anything.
+	 * 
+	 * @return True if any score was recalculated, so the team should be saved.
+	 */
+	public boolean materializeScores() {
+		if (materializedScoreVersion == scoreVersion) {
+			return false;
+		}
+		getHumanFactorGraph();
+		BitSet dirty = new BitSet();
+		for (int factor = 0; factor < indexedHumanFactors.length; factor++) {
+			if (indexedHumanFactors[factor].isScoreDirty()) {
+				dirty.set(factor);
+				indexedHumanFactors[factor].setScoreDirty(false);
+			}
+		}
+		if (!dirty.isEmpty()) {
+			humanFactorGraph.propagate(dirty, scoreAccessor);
+		}
+		materializedScoreVersion = scoreVersion;
+		return true;
+	}
+
+	/**
+	 * Calculates the average score of the users for the given human factor.
+	 * 
+	 * @param factor Index of the human factor in the dependency graph.
+	 * @return Average score of the users for the given human factor. If the score
+	 *         cannot be calculated, NaN is returned. If there is no questions to
+	 *         calculate the score, 0.0 is returned.
+	 */
+	private double calculateHumanFactorUserScore(int factor) {
+		TeamHumanFactor teamHumanFactor = indexedHumanFactors[factor];
+		HumanFactorType humanFactorType = teamHumanFactor.getType();
 		// Check if the human factor has questions (if it has no questions, then the
 		// score is calculated using the depending factors)
 		if (humanFactorType.getQuestionTypes().isEmpty()) {
-			return average;
-		}
-		String key;
-		Double userScore;
-		if (humanFactorType.isMemberMeasured()) {
-			for (User user : members) {
-				key = humanFactorType.getId() + "." + user.hashCode();
-				userScore = humanFactorUserScores.get(key);
-				if (userScore == null) {
-					humanFactorUserScores.put(key, null);
-					return null;
-				}
-				average += userScore;
-				membersCounter++;
-			}
+			return 0.0;
+		}
+		return teamHumanFactor.getAverageUserScore(expectedUsers(humanFactorType));
+	}
+
+	/**
+	 * @param humanFactor Human factor of the team.
+	 * @return Fraction of the users that measure the human factor whose score is
+	 *         known, between 0.0 and 1.0. Human factors without questions are
+	 *         always fully covered.
+	 */
+	public double getUserScoreCoverage(TeamHumanFactor humanFactor) {
+		if (humanFactor.getType().getQuestionTypes().isEmpty()) {
+			return 1.0;
+		}
+		return Math.min(1.0, (double) humanFactor.getUserScoreCount() / expectedUsers(humanFactor.getType()));
+	}
+
+	/**
+	 * @return Amount of users that measure the given human factor: the manager, and
+	 *         the members if it is measured by members.
+	 */
+	private int expectedUsers(HumanFactorType humanFactorType) {
+		return humanFactorType.isMemberMeasured() ? members.size() + 1 : 1;
+	}
+
+	/**
+	 * Exposes the scores of the team's human factors to the dependency graph.
+	 */
+	private class TeamScoreAccessor implements HumanFactorGraph.ScoreAccessor {
+
+		@Override
+		public double ownScore(int factor) {
+			return calculateHumanFactorUserScore(factor);
+		}
+
+		@Override
+		public double score(int factor) {
+			Double score = indexedHumanFactors[factor].getScore();
+			return score == null ? Double.NaN : score;
 		}
-		key = humanFactorType.getId() + "." + manager.hashCode();
-		userScore = humanFactorUserScores.get(key);
-		if (userScore == null) {
-			humanFactorUserScores.put(key, null);
-			return null;
+
+		@Override
+		public void setScore(int factor, double score) {
+			indexedHumanFactors[factor].setScore(score);
+			if (recommendedActionIndex != null) {
+				recommendedActionIndex.update(factor, score);
+			}
 		}
-		average += userScore;
-		average /= membersCounter;
-		return average;
+
 	}
 
 }
@@ -1,8 +1,10 @@
 package com.suken27.humanfactorsjava.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -16,23 +18,33 @@ import lombok.ToString;
 
 @Entity
 @Data
-@EqualsAndHashCode(exclude = {"affectsTo", "affectedBy", "actions"})
-@ToString(exclude = {"affectsTo", "affectedBy", "actions"})
+@EqualsAndHashCode(exclude = {"actions"})
+@ToString(exclude = {"actions"})
 public class TeamHumanFactor {
     
     @Id
     @GeneratedValue
     private Long id;
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     private HumanFactorType type;
-    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    private List<TeamHumanFactor> affectsTo;
-    @ManyToMany(fetch = FetchType.EAGER)
-    private List<TeamHumanFactor> affectedBy;
-    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Action> actions;
     private boolean isFullyMeasured;
     private Double score;
+    /**
+     * True if the score of a user changed but the score of this human factor has
+     * not been recalculated yet (lazy scoring).
+     */
+    private boolean scoreDirty;
+    /**
+     * Running sum and count of the scores of the users measured in this human
+     * factor. They are updated with every change in a user's score, so the team
+     * average does not require visiting every member.
+     */
+    private double userScoreSum;
+    private int userScoreCount;
 
     /**
      * This constructor should never be used. Use TeamHumanFactor(HumanFactorType) instead.
@@ -43,8 +55,41 @@ public class TeamHumanFactor {
 
     public TeamHumanFactor(HumanFactorType type) {
         this.type = type;
-        affectsTo = new ArrayList<>();
-        affectedBy = new ArrayList<>();
+    }
+
+    /**
+     * Replaces the score of a user in the running aggregates. NaN means the user
+     * had or has no score.
+     * 
+     * @param previousScore Score of the user before the change.
+     * @param newScore      Score of the user after the change.
+     */
+    public void replaceUserScore(double previousScore, double newScore) {
+        if (!Double.isNaN(previousScore)) {
+            userScoreSum -= previousScore;
+            userScoreCount--;
+        }
+        if (!Double.isNaN(newScore)) {
+            userScoreSum += newScore;
+            userScoreCount++;
+        }
+    }
+
+    public void clearUserScores() {
+        userScoreSum = 0.0;
+        userScoreCount = 0;
+    }
+
+    /**
+     * @param expectedUsers Amount of users that measure this human factor.
+     * @return Average score of the users, or NaN if not every expected user has
+     *         a score.
+     */
+    public double getAverageUserScore(int expectedUsers) {
+        if (expectedUsers == 0 || userScoreCount != expectedUsers) {
+            return Double.NaN;
+        }
+        return userScoreSum / userScoreCount;
     }
 
 }
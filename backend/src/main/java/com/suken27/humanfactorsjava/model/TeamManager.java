@@ -1,7 +1,6 @@
 package com.suken27.humanfactorsjava.model;
 
 import jakarta.persistence.CascadeType;
-import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
@@ -13,14 +12,14 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true, exclude = {"team"})
 public class TeamManager extends User {
 
-	@Column(nullable = false)
+	// Not null for team managers, but the columns are nullable as every kind of
+	// user shares the users table
     private String password;
 
-    @Column(nullable = false)
     private Role role = Role.USER;
 
 	@OneToOne(cascade = CascadeType.ALL)
-	@JoinColumn(name = "team_id")
+	@JoinColumn(name = "managed_team_id")
 	private Team team;
 
 	/**
@@ -32,8 +31,16 @@ public class TeamManager extends User {
 	}
 
 	public TeamManager(HumanFactorFactory humanFactorFactory) {
-		super(humanFactorFactory.createInstances());
-		team = new Team(this, humanFactorFactory.createTeamInstances());
+		this(humanFactorFactory.getCatalog());
+	}
+
+	/**
+	 * Creates a team manager and its team from the same snapshot of the catalog,
+	 * so a reload of the catalog cannot leave them with different human factors.
+	 */
+	public TeamManager(CatalogSnapshot catalog) {
+		super(catalog.createInstances());
+		team = new Team(this, catalog.createTeamInstances(), catalog::getHumanFactorGraph);
 	}
 
 }
@@ -2,27 +2,26 @@ package com.suken27.humanfactorsjava.model;
 
 import java.time.LocalDateTime;
 
-import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.Inheritance;
-import jakarta.persistence.InheritanceType;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 @Entity
-@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 @Data
 @EqualsAndHashCode(callSuper = true, exclude = {"team"})
 public class TeamMember extends User {
 
-    @Column(nullable = false)
+    // Not null for members, but the column is nullable as every kind of user
+    // shares the users table
     private boolean deleted;
 
     private LocalDateTime deletionTime;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id")
     private Team team;
     
     /**
@@ -37,5 +36,10 @@ public class TeamMember extends User {
         super(humanFactorFactory.createInstances());
         deleted = false;
     }
+
+    public TeamMember(CatalogSnapshot catalog) {
+        super(catalog.createInstances());
+        deleted = false;
+    }
     
 }
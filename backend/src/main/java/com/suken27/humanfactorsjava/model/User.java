@@ -1,10 +1,16 @@
 package com.suken27.humanfactorsjava.model;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -17,7 +23,11 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 @Entity
-@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+// Team managers and members share a single table, so looking a user up by email
+// or by team is a single index access instead of a union of both tables. The
+// indexes are created by the schema migrations (see SchemaMigrations)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "user_type")
 // The word 'user' is a reserved keyword for H2 databases, so it needs to be
 // replaced.
 @Table(name = "Users")
@@ -31,7 +41,14 @@ public abstract class User {
     @Column(nullable = false)
     private String email;
     private String slackId;
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    /**
+     * Column of this user in the score matrix of its team. Unique among the
+     * users of the same team.
+     * @see ScoreMatrix
+     */
+    private Integer scoreSlot;
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<HumanFactor> humanFactors;
 
     /**
@@ -60,58 +77,35 @@ public abstract class User {
      * @see HumanFactor
      */
     public List<Question> launchQuestions(int numberOfQuestions) {
-        List<Question> launchQuestions = new ArrayList<>();
         List<Question> questions = new ArrayList<>();
-        long totalWeight = 0;
         for (HumanFactor humanFactor : humanFactors) {
             Question oldestQuestion = humanFactor.getOldestQuestion();
             if (oldestQuestion != null) {
                 questions.add(oldestQuestion);
-                // The +1 is to avoid 0 total weight if the questions are launched the same day
-                // they are created.
-                totalWeight += oldestQuestion.daysSinceLastAnswer() + 1;
             }
         }
-        double random;
-        for (int i = 0; i < numberOfQuestions; i++) {
-            random = Math.random() * totalWeight;
-            for (Question question : questions) {
-                random -= question.daysSinceLastAnswer() + 1;
-                if (random <= 0.0d) {
-                    launchQuestions.add(question);
-                    questions.remove(question);
-                    totalWeight -= question.daysSinceLastAnswer() + 1;
-                    break;
-                }
-            }
+        LocalDate today = LocalDate.now();
+        double[] weights = new double[questions.size()];
+        for (int i = 0; i < weights.length; i++) {
+            // The +1 is to avoid 0 weight if the questions are launched the same day
+            // they are created.
+            weights[i] = questions.get(i).daysSinceLastAnswer(today) + 1.0;
         }
-        return launchQuestions;
+        return WeightedSampler.sample(questions, weights, numberOfQuestions, ThreadLocalRandom.current());
     }
 
     /**
+     * Scans every human factor of the user, so it loads them. The answer path
+     * resolves the human factor of a question with a query instead.
      * 
-     * @param questionId
-     * @param answer
-     * @return The human factor that was changed if it is fully measured, null otherwise.
+     * @param question Question of the user.
+     * @return The human factor of the user that owns the question, or null if the
+     *         question is not one of the user's.
      */
-    public HumanFactor answerQuestion(Question question, Double answer) {
-        HumanFactor humanFactor = getHumanFactorByQuestion(question);
-        if(humanFactor == null) {
-            log.error("Question [{}] does not belong to any human factor", question.getId());
-            return null;
-        }
-        if(humanFactor.answerQuestion(question.getId(), answer) != null) {
-            return humanFactor;
-        }
-        return null;
-    }
-
-    private HumanFactor getHumanFactorByQuestion(Question question) {
+    public HumanFactor getHumanFactorByQuestion(Question question) {
         for (HumanFactor humanFactor : humanFactors) {
-            for (Question humanFactorQuestion : humanFactor.getQuestions()) {
-                if (humanFactorQuestion.getId().equals(question.getId())) {
-                    return humanFactor;
-                }
+            if (humanFactor.getQuestion(question.getId()) != null) {
+                return humanFactor;
             }
         }
         return null;
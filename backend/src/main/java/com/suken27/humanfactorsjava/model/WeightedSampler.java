@@ -0,0 +1,63 @@
+package com.suken27.humanfactorsjava.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Weighted random sampling without replacement. Each item gets the key
+ * log(u) / weight, with u uniform in (0, 1], and the items with the highest
+ * keys are selected (Efraimidis and Spirakis). This has the same distribution
+ * as drawing the items one by one with a probability proportional to their
+ * weight and removing each drawn item, but it takes a single pass over the
+ * items and O(n log k) time.
+ */
+public final class WeightedSampler {
+
+    private WeightedSampler() {
+        super();
+    }
+
+    private record Key(int item, double key) {
+    }
+
+    /**
+     * @param items   Items to sample.
+     * @param weights Weight of each item. Items with a non positive weight are
+     *                only selected after every item with a positive weight.
+     * @param amount  Amount of items to select.
+     * @param random  Source of randomness.
+     * @return The selected items, in the order they would have been drawn one by
+     *         one. If there are fewer items than the amount, every item is
+     *         returned.
+     */
+    public static <T> List<T> sample(List<T> items, double[] weights, int amount, Random random) {
+        if (amount <= 0 || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Min-heap with the highest keys seen so far
+        PriorityQueue<Key> selected = new PriorityQueue<>(Math.min(amount, items.size()) + 1,
+                (a, b) -> Double.compare(a.key(), b.key()));
+        for (int item = 0; item < items.size(); item++) {
+            // 1 - nextDouble() is in (0, 1], so the logarithm is finite
+            double key = weights[item] > 0 ? Math.log(1.0 - random.nextDouble()) / weights[item]
+                    : Double.NEGATIVE_INFINITY;
+            if (selected.size() < amount) {
+                selected.add(new Key(item, key));
+            } else if (key > selected.peek().key()) {
+                selected.poll();
+                selected.add(new Key(item, key));
+            }
+        }
+        List<T> sample = new ArrayList<>(selected.size());
+        while (!selected.isEmpty()) {
+            sample.add(items.get(selected.poll().item()));
+        }
+        // The heap is emptied from the lowest key to the highest
+        Collections.reverse(sample);
+        return sample;
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.suken27.humanfactorsjava.model.ArchivedAnswer;
+import com.suken27.humanfactorsjava.model.dto.AnswerHistoryDto;
+import com.suken27.humanfactorsjava.model.exception.QuestionNotFoundException;
+import com.suken27.humanfactorsjava.model.exception.TeamManagerNotFoundException;
+import com.suken27.humanfactorsjava.model.scheduling.ScheduleController;
+import com.suken27.humanfactorsjava.repository.ArchivedAnswerRepository;
+import com.suken27.humanfactorsjava.repository.QuestionRepository;
+import com.suken27.humanfactorsjava.repository.TeamRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps only the latest answers of every question, moving the older ones to
+ * the answer archive, and streams the whole answer history of a question.
+ * Questions keep their score, so archived answers are only read for the
+ * history.
+ * 
+ * @see ArchivedAnswer
+ */
+@Controller
+@Slf4j
+public class AnswerArchiveController {
+
+    private static final String SELECT_OLD_ANSWERS = "SELECT id, question_id, creation_time, answer_value FROM ("
+            + "SELECT a.id, qa.question_id, a.creation_time, a.answer_value, ROW_NUMBER() OVER ("
+            + "PARTITION BY qa.question_id ORDER BY a.creation_time DESC, a.id DESC) AS answer_position "
+            + "FROM answer a JOIN question_answers qa ON qa.answers_id = a.id) ranked "
+            + "WHERE answer_position > ? LIMIT ?";
+    private static final String INSERT_ARCHIVED_ANSWER = "INSERT INTO archived_answer (id, question_id, "
+            + "creation_time, answer_value, archive_month) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_QUESTION_ANSWER = "DELETE FROM question_answers WHERE answers_id = ?";
+    private static final String DELETE_ANSWER = "DELETE FROM answer WHERE id = ?";
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ArchivedAnswerRepository archivedAnswerRepository;
+
+    @Autowired
+    private ScheduleController scheduleController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${com.suken27.humanfactors.answers.archival.cron:0 30 3 * * ?}")
+    private String archivalCron;
+
+    @Value("${com.suken27.humanfactors.answers.archival.keptAnswers:5}")
+    private int keptAnswers;
+
+    @Value("${com.suken27.humanfactors.answers.archival.batchSize:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleArchival() throws SchedulerException {
+        scheduleController.scheduleAnswerArchivalJob(archivalCron);
+    }
+
+    /**
+     * Moves every answer that is not one of the latest answers of its question to
+     * the archive. Each batch is moved in its own transaction, so the archival
+     * can be stopped and run again at any time.
+     * 
+     * @return Amount of archived answers.
+     */
+    public int archiveAnswers() {
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch());
+            archived += moved;
+        } while (moved == batchSize);
+        log.info("[{}] answers archived, keeping the latest [{}] answers of each question", archived, keptAnswers);
+        return archived;
+    }
+
+    private int archiveBatch() {
+        List<Object[]> archivedRows = new ArrayList<>();
+        List<Object[]> idRows = new ArrayList<>();
+        jdbcTemplate.query(SELECT_OLD_ANSWERS, resultSet -> {
+            long id = resultSet.getLong("id");
+            Timestamp creationTime = resultSet.getTimestamp("creation_time");
+            LocalDateTime creation = creationTime == null ? null : creationTime.toLocalDateTime();
+            archivedRows.add(new Object[] { id, resultSet.getLong("question_id"), creationTime,
+                    resultSet.getObject("answer_value"),
+                    creation == null ? null : creation.toLocalDate().withDayOfMonth(1) });
+            idRows.add(new Object[] { id });
+        }, keptAnswers, batchSize);
+        if (!archivedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ARCHIVED_ANSWER, archivedRows);
+            jdbcTemplate.batchUpdate(DELETE_QUESTION_ANSWER, idRows);
+            jdbcTemplate.batchUpdate(DELETE_ANSWER, idRows);
+        }
+        return archivedRows.size();
+    }
+
+    /**
+     * Streams every answer given to a question of a user of the team managed by
+     * the given team manager, from the oldest to the newest. The archived answers
+     * are read row by row, so the history is never held in memory.
+     * 
+     * @param teamManagerEmail Email of the team manager.
+     * @param questionId       Id of the question.
+     * @param consumer         Consumer of the answers. It is not called if the
+     *                         question cannot be found.
+     */
+    public void streamAnswerHistory(String teamManagerEmail, Long questionId, Consumer<AnswerHistoryDto> consumer) {
+        Long teamId = teamRepository.findIdByTeamManagerEmail(teamManagerEmail);
+        if (teamId == null) {
+            throw new TeamManagerNotFoundException(teamManagerEmail);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!questionRepository.existsInTeamMembers(teamId, questionId)
+                    && !questionRepository.existsInTeamManager(teamId, questionId)) {
+                throw new QuestionNotFoundException(questionId);
+            }
+            try (Stream<AnswerHistoryDto> archived = archivedAnswerRepository.streamHistory(questionId)) {
+                archived.forEach(consumer);
+            }
+            questionRepository.findAnswerHistory(questionId).forEach(consumer);
+        });
+    }
+
+}
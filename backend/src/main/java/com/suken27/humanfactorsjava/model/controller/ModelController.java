@@ -3,25 +3,37 @@ package com.suken27.humanfactorsjava.model.controller;
 import java.io.IOException;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.time.DayOfWeek;
 
+import org.hibernate.Session;
 import org.quartz.SchedulerException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.slack.api.bolt.App;
 import com.slack.api.methods.SlackApiException;
 import com.slack.api.model.block.LayoutBlock;
 import com.suken27.humanfactorsjava.model.Action;
+import com.suken27.humanfactorsjava.model.HumanFactor;
 import com.suken27.humanfactorsjava.model.HumanFactorFactory;
+import com.suken27.humanfactorsjava.model.HumanFactorGraph;
 import com.suken27.humanfactorsjava.model.Question;
 import com.suken27.humanfactorsjava.model.Team;
 import com.suken27.humanfactorsjava.model.TeamHumanFactor;
@@ -30,9 +42,12 @@ import com.suken27.humanfactorsjava.model.TeamMember;
 import com.suken27.humanfactorsjava.model.User;
 import com.suken27.humanfactorsjava.model.QuestionFrequency;
 import com.suken27.humanfactorsjava.model.dto.ActionDto;
+import com.suken27.humanfactorsjava.model.dto.AnswerDto;
 import com.suken27.humanfactorsjava.model.dto.HumanFactorDto;
+import com.suken27.humanfactorsjava.model.dto.MemberImportDto;
 import com.suken27.humanfactorsjava.model.dto.QuestionDto;
 import com.suken27.humanfactorsjava.model.dto.TeamDto;
+import com.suken27.humanfactorsjava.model.dto.TeamHumanFactorView;
 import com.suken27.humanfactorsjava.model.dto.TeamManagerDto;
 import com.suken27.humanfactorsjava.model.dto.UserDto;
 import com.suken27.humanfactorsjava.model.dto.QuestionScheduleDto;
@@ -43,15 +58,20 @@ import com.suken27.humanfactorsjava.model.exception.MemberAlreadyInTeamException
 import com.suken27.humanfactorsjava.model.exception.QuestionNotFoundException;
 import com.suken27.humanfactorsjava.model.exception.TeamManagerNotFoundException;
 import com.suken27.humanfactorsjava.model.exception.TeamMemberNotFoundException;
+import com.suken27.humanfactorsjava.model.exception.UncommittedAnswersException;
 import com.suken27.humanfactorsjava.model.exception.OnlyOneUserAllowedException;
 import com.suken27.humanfactorsjava.model.scheduling.ScheduleController;
+import com.suken27.humanfactorsjava.repository.HumanFactorRepository;
 import com.suken27.humanfactorsjava.repository.QuestionRepository;
 import com.suken27.humanfactorsjava.repository.TeamManagerRepository;
 import com.suken27.humanfactorsjava.repository.TeamMemberRepository;
 import com.suken27.humanfactorsjava.repository.TeamRepository;
 import com.suken27.humanfactorsjava.rest.exception.MemberInAnotherTeamException;
+import com.suken27.humanfactorsjava.security.AdminRoleGrant;
 import com.suken27.humanfactorsjava.slack.SlackBlockBuilder;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 
 @Controller
@@ -61,9 +81,18 @@ public class ModelController {
 	// TODO: Refactor model to decouple the messaging logic from the model
 	// TODO: Cache users to avoid fetching them every time
 
+	/**
+	 * Times an answer write is tried when other writes to the same team conflict
+	 * with it.
+	 */
+	private static final int MAX_ANSWER_ATTEMPTS = 3;
+
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private AdminRoleGrant adminRoleGrant;
+
 	@Autowired
 	private TeamManagerRepository teamManagerRepository;
 
@@ -77,11 +106,26 @@ public class ModelController {
 	private TeamMemberRepository teamMemberRepository;
 
 	@Autowired
-	private QuestionRepository questionRepository;
+	private HumanFactorRepository humanFactorRepository;
 
 	@Autowired
 	private ScheduleController scheduleController;
 
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private TeamWriteLocks teamWriteLocks;
+
+	@Autowired
+	private RecommendedActionCache recommendedActionCache;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Autowired
 	private SlackBlockBuilder slackBlockBuilder;
 
@@ -115,6 +159,7 @@ public class ModelController {
 		TeamManager entity = new TeamManager(humanFactorFactory);
 		entity.setEmail(email);
 		entity.setPassword(passwordEncoder.encode(password));
+		entity.setRole(adminRoleGrant.roleOf(email));
 		scheduleQuestions(entity.getTeam());
 		return new TeamManagerDto(teamManagerRepository.save(entity));
 	}
@@ -140,63 +185,133 @@ public class ModelController {
 		return new TeamManagerDto(teamManagerRepository.save(teamManager));
 	}
 
+	/**
+	 * Reads the team of the given team manager from its columns and the columns
+	 * of its members, without loading the entities.
+	 */
 	public TeamDto getTeam(String teamManagerEmail) {
-		Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
+		TeamDto team = teamRepository.findDtoByTeamManagerEmail(teamManagerEmail);
 		if (team == null) {
 			return null;
 		}
-		return new TeamDto(team);
+		team.setMembers(new ArrayList<>(teamMemberRepository.findDtosByTeamId(team.getId())));
+		return team;
 	}
 
 	public TeamDto updateTeam(TeamDto teamDto)
 			throws SchedulerException {
-		Team team = teamRepository.findByTeamManagerId(teamDto.getManager());
-		if (team == null) {
+		Long teamId = teamRepository.findIdByTeamManagerId(teamDto.getManager());
+		if (teamId == null) {
 			throw new TeamManagerNotFoundException(teamDto.getManager());
 		}
-		// parse questionSendingTime to LocalTime
-		DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-		team.setZonedQuestionSendingTime(LocalTime.parse(teamDto.getQuestionSendingTime(), dateTimeFormatter));
-		team.setQuestionsPerDay(teamDto.getQuestionsPerDay());
-		team.setSlackBotToken(teamDto.getSlackBotToken());
+		Team team = writeAnswers(teamId, session -> {
+			Team entity = teamRepository.findByTeamManagerId(teamDto.getManager());
+			if (entity == null) {
+				throw new TeamManagerNotFoundException(teamDto.getManager());
+			}
+			session.setReadOnly(entity, false);
+			// parse questionSendingTime to LocalTime
+			DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+			entity.setZonedQuestionSendingTime(LocalTime.parse(teamDto.getQuestionSendingTime(), dateTimeFormatter));
+			entity.setQuestionsPerDay(teamDto.getQuestionsPerDay());
+			entity.setSlackBotToken(teamDto.getSlackBotToken());
+			return teamRepository.save(entity);
+		});
+		// The job is scheduled once the settings are committed
 		scheduleQuestions(team);
-		return new TeamDto(teamRepository.save(team));
+		return new TeamDto(team);
 	}
 
 	public TeamDto addTeamMember(String teamManagerEmail, String email, String slackId)
 			throws MemberAlreadyInTeamException, MemberInAnotherTeamException {
-		Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
-		// Team should not be null as every team manager is created with an empty team,
-		// so no check should be required
-		if (teamManagerEmail.equals(email) || team.isMember(email)) {
-			throw new MemberAlreadyInTeamException(email);
-		}
-		TeamMember teamMember = teamMemberRepository.findByEmail(email);
-		if (teamMember != null) {
-			throw new MemberInAnotherTeamException(email);
+		return writeAnswers(findTeamId(teamManagerEmail), session -> {
+			Team team = teamRepository.findForAnswerByTeamManagerEmail(teamManagerEmail);
+			if (teamManagerEmail.equals(email) || team.isMember(email)) {
+				throw new MemberAlreadyInTeamException(email);
+			}
+			if (teamMemberRepository.findByEmail(email) != null) {
+				throw new MemberInAnotherTeamException(email);
+			}
+			prepareAnswerWrite(session, team);
+			TeamMember teamMember = new TeamMember(humanFactorFactory);
+			teamMember.setEmail(email);
+			teamMember.setTeam(team);
+			teamMember.setSlackId(slackId);
+			team.addMember(teamMember);
+			return new TeamDto(teamRepository.save(team));
+		});
+	}
+
+	/**
+	 * Adds several members to the team of the given team manager. The scores of
+	 * the team are recalculated once, and the members are inserted when the
+	 * transaction is flushed, so their human factors and questions are written
+	 * in JDBC batches.
+	 * 
+	 * @param teamManagerEmail Email of the team manager.
+	 * @param slackIds         Slack id of each new member by email, in import
+	 *                         order. Ids may be null.
+	 * @return The updated team and the emails that were added or skipped.
+	 */
+	public MemberImportDto addTeamMembers(String teamManagerEmail, Map<String, String> slackIds) {
+		return writeAnswers(findTeamId(teamManagerEmail), session -> {
+			Team team = teamRepository.findForAnswerByTeamManagerEmail(teamManagerEmail);
+			prepareAnswerWrite(session, team);
+			return addTeamMembers(team, teamManagerEmail, slackIds);
+		});
+	}
+
+	private MemberImportDto addTeamMembers(Team team, String teamManagerEmail, Map<String, String> slackIds) {
+		MemberImportDto result = new MemberImportDto();
+		Set<String> inAnotherTeam = new HashSet<>(teamMemberRepository.findEmailsIn(slackIds.keySet()));
+		List<TeamMember> newMembers = new ArrayList<>();
+		for (Entry<String, String> entry : slackIds.entrySet()) {
+			String email = entry.getKey();
+			if (teamManagerEmail.equals(email) || team.isMember(email)) {
+				result.getAlreadyInTeam().add(email);
+			} else if (inAnotherTeam.contains(email)) {
+				result.getInAnotherTeam().add(email);
+			} else {
+				TeamMember teamMember = new TeamMember(humanFactorFactory);
+				teamMember.setEmail(email);
+				teamMember.setTeam(team);
+				teamMember.setSlackId(entry.getValue());
+				newMembers.add(teamMember);
+				result.getAdded().add(email);
+			}
 		}
-		teamMember = new TeamMember(humanFactorFactory);
-		teamMember.setEmail(email);
-		teamMember.setTeam(team);
-		teamMember.setSlackId(slackId);
-		team.addMember(teamMember);
-		return new TeamDto(teamRepository.save(team));
+		team.addMembers(newMembers);
+		result.setTeam(new TeamDto(teamRepository.save(team)));
+		return result;
 	}
 
 	public TeamDto removeTeamMember(String teamManagerEmail, String email) {
-		Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
-		// Team should not be null as every team manager is created with an empty team,
-		// so no check should be required
-		if (!team.isMember(email)) {
-			throw new TeamMemberNotFoundException(email);
-		}
-		// At this point the user should exist, this is a double check just in case
-		TeamMember teamMember = teamMemberRepository.findByEmail(email);
-		if (teamMember == null) {
-			throw new TeamMemberNotFoundException(email);
+		return writeAnswers(findTeamId(teamManagerEmail), session -> {
+			Team team = teamRepository.findForAnswerByTeamManagerEmail(teamManagerEmail);
+			if (!team.isMember(email)) {
+				throw new TeamMemberNotFoundException(email);
+			}
+			// At this point the user should exist, this is a double check just in case
+			TeamMember teamMember = teamMemberRepository.findByEmail(email);
+			if (teamMember == null) {
+				throw new TeamMemberNotFoundException(email);
+			}
+			prepareAnswerWrite(session, team);
+			session.setReadOnly(teamMember, false);
+			team.removeMember(teamMember);
+			return new TeamDto(teamRepository.save(team));
+		});
+	}
+
+	/**
+	 * @return Id of the team managed by the given team manager.
+	 */
+	private Long findTeamId(String teamManagerEmail) {
+		Long teamId = teamRepository.findIdByTeamManagerEmail(teamManagerEmail);
+		if (teamId == null) {
+			throw new TeamManagerNotFoundException(teamManagerEmail);
 		}
-		team.removeMember(teamMember);
-		return new TeamDto(teamRepository.save(team));
+		return teamId;
 	}
 
 	public TeamDto modifyQuestionSchedule(
@@ -206,13 +321,31 @@ public class ModelController {
 	        DayOfWeek dayOfWeek,
 	        Integer dayOfMonth) throws SchedulerException {
 
-	    Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
+	    QuestionFrequency questionFrequency = frequency == null ? QuestionFrequency.DAILY : frequency;
+	    Team team = writeAnswers(findTeamId(teamManagerEmail), session -> {
+	        Team entity = teamRepository.findByTeamManagerEmail(teamManagerEmail);
+	        session.setReadOnly(entity, false);
+	        setQuestionSchedule(entity, questionSendingTime, questionFrequency, dayOfWeek, dayOfMonth);
+	        return teamRepository.save(entity);
+	    });
+
+	    // The job is scheduled once the schedule is committed
+	    scheduleQuestions(team);
+
+	    return new TeamDto(team);
+	}
+
+	private void setQuestionSchedule(
+	        Team team,
+	        LocalTime questionSendingTime,
+	        QuestionFrequency frequency,
+	        DayOfWeek dayOfWeek,
+	        Integer dayOfMonth) {
 
 	    if (questionSendingTime != null) {
 	        team.setZonedQuestionSendingTime(questionSendingTime);
 	    }
 
-	    if (frequency == null) frequency = QuestionFrequency.DAILY;
 	    team.setQuestionFrequency(frequency);
 
 	    if (frequency == QuestionFrequency.WEEKLY) {
@@ -226,14 +359,11 @@ public class ModelController {
 	        if (team.getQuestionDayOfWeek() == null) team.setQuestionDayOfWeek(DayOfWeek.MONDAY);
 	        if (team.getQuestionDayOfMonth() == 0) team.setQuestionDayOfMonth(1);
 	    }
-
-	    scheduleQuestions(team);
-
-	    return new TeamDto(teamRepository.save(team));
 	}
 
+	@Transactional
 	public Map<UserDto, List<QuestionDto>> launchQuestions(String teamManagerEmail) {
-		Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
+		Team team = teamRepository.findForLaunchByTeamManagerEmail(teamManagerEmail);
 		Map<User, List<Question>> questions = team.launchQuestions();
 		Map<UserDto, List<QuestionDto>> questionsDto = new HashMap<>();
 		for (Entry<User, List<Question>> entry : questions.entrySet()) {
@@ -243,19 +373,243 @@ public class ModelController {
 	}
 
 	public String answerQuestion(String userEmail, Long questionId, Double answer) {
-		Team team = teamRepository.findByMemberEmail(userEmail);
-		if(team == null) {
+		Long teamId = teamRepository.findIdByMemberEmail(userEmail);
+		if (teamId == null) {
 			throw new TeamMemberNotFoundException(userEmail);
 		}
-		Optional<Question> optional = questionRepository.findById(questionId);
-		if(!optional.isPresent()) {
-			throw new QuestionNotFoundException(questionId);
+		return writeAnswers(teamId, session -> {
+			Team team = teamRepository.findByMemberEmail(userEmail);
+			if(team == null) {
+				throw new TeamMemberNotFoundException(userEmail);
+			}
+			prepareAnswerWrite(session, team);
+			// The human factor is answered directly, so the user's other human factors are
+			// not loaded
+			HumanFactor humanFactor = humanFactorRepository.findByQuestionIdFetchQuestions(questionId);
+			Question question = humanFactor == null ? null : humanFactor.getQuestion(questionId);
+			if(question == null || !userEmail.equals(humanFactorRepository.findOwnerEmail(humanFactor.getId()))) {
+				throw new QuestionNotFoundException(questionId);
+			}
+			session.setReadOnly(humanFactor, false);
+			session.setReadOnly(question, false);
+				return team.answerQuestion(userEmail, humanFactor, question, answer);
+		});
+	}
+
+	/**
+	 * Answers the questions of the users of the team managed by the given team
+	 * manager with a single load of the team.
+	 * 
+	 * @param teamManagerEmail Email of the team manager.
+	 * @param answers          Answers of the team's users.
+	 * @return Answer to each question in text, in the same order.
+	 */
+	public List<String> answerQuestions(String teamManagerEmail, List<AnswerDto> answers) {
+		Long teamId = teamRepository.findIdByTeamManagerEmail(teamManagerEmail);
+		if (teamId == null) {
+			throw new TeamManagerNotFoundException(teamManagerEmail);
 		}
-		String text = team.answerQuestion(userEmail, optional.get(), answer);
-		teamRepository.save(team);
-		return text;
+		return writeAnswers(teamId, session -> {
+			Team team = teamRepository.findForAnswerByTeamManagerEmail(teamManagerEmail);
+			if (team == null) {
+				throw new TeamManagerNotFoundException(teamManagerEmail);
+			}
+			for (AnswerDto answer : answers) {
+				if (!teamManagerEmail.equals(answer.getUserEmail()) && !team.isMember(answer.getUserEmail())) {
+					throw new TeamMemberNotFoundException(answer.getUserEmail());
+				}
+			}
+			prepareAnswerWrite(session, team);
+			return answerQuestions(team, answers, findQuestions(session, answers));
+		});
 	}
 
+	/**
+	 * Answers the questions of users from any team. The answers are grouped by
+	 * team, so each team is loaded once and its scores are propagated once,
+	 * whatever the amount of answers it receives. Each team is written in its own
+	 * transaction, so a team does not wait for the writes to other teams.
+	 * Unknown users and questions are rejected before any team is written.
+	 * 
+	 * @param answers Answers of the users.
+	 * @return Answer to each question in text, in the same order.
+	 * @throws UncommittedAnswersException If the answers of some teams could not
+	 *                                     be written. The answers of the rest of
+	 *                                     the teams are committed, and must not be
+	 *                                     answered again.
+	 */
+	public List<String> answerQuestions(List<AnswerDto> answers) {
+		Map<String, Long> teamIdsByEmail = new HashMap<>();
+		Map<Long, List<Integer>> teamAnswers = new LinkedHashMap<>();
+		for (int i = 0; i < answers.size(); i++) {
+			String userEmail = answers.get(i).getUserEmail();
+			Long teamId = teamIdsByEmail.computeIfAbsent(userEmail, teamRepository::findIdByMemberEmail);
+			if (teamId == null) {
+				throw new TeamMemberNotFoundException(userEmail);
+			}
+			teamAnswers.computeIfAbsent(teamId, id -> new ArrayList<>()).add(i);
+		}
+		Set<Long> questionIds = new HashSet<>();
+		for (AnswerDto answer : answers) {
+			questionIds.add(answer.getQuestionId());
+		}
+		questionIds.removeAll(questionRepository.findExistingIds(questionIds));
+		if (!questionIds.isEmpty()) {
+			throw new QuestionNotFoundException(questionIds.iterator().next());
+		}
+		String[] answerTexts = new String[answers.size()];
+		Set<Long> uncommittedTeamIds = new LinkedHashSet<>();
+		RuntimeException failure = null;
+		for (Entry<Long, List<Integer>> entry : teamAnswers.entrySet()) {
+			List<AnswerDto> answersOfTeam = entry.getValue().stream().map(answers::get).toList();
+			List<String> texts;
+			try {
+				texts = writeAnswers(entry.getKey(), session -> {
+					Team team = teamRepository.findForAnswerById(entry.getKey());
+					prepareAnswerWrite(session, team);
+					return answerQuestions(team, answersOfTeam, findQuestions(session, answersOfTeam));
+				});
+			} catch (RuntimeException e) {
+				// The teams already written are committed, so the rest are still written
+				uncommittedTeamIds.add(entry.getKey());
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+				continue;
+			}
+			for (int i = 0; i < texts.size(); i++) {
+				answerTexts[entry.getValue().get(i)] = texts.get(i);
+			}
+		}
+		if (failure != null) {
+			throw new UncommittedAnswersException(Arrays.asList(answerTexts), uncommittedTeamIds, failure);
+		}
+		return List.of(answerTexts);
+	}
+
+	/**
+	 * Runs a write to a team in its own transaction, retrying it when another
+	 * transaction changed the same team first. Every change of a team (answers,
+	 * members, settings and materialized scores) goes through here. Entities are loaded read-only, so
+	 * the write must make modifiable the entities it changes, and only those are
+	 * checked and written on flush, instead of the whole team.
+	 * <p>
+	 * Writes to the same team are applied one at a time, in the order they
+	 * arrive, and the transaction is committed before the next one starts.
+	 * Writes to other teams are not delayed.
+	 * 
+	 * @see #prepareAnswerWrite(Session, Team)
+	 * @see TeamWriteLocks
+	 */
+	private <T> T writeAnswers(Long teamId, Function<Session, T> answerWrite) {
+		return teamWriteLocks.write(teamId, () -> writeAnswers(answerWrite));
+	}
+
+	private <T> T writeAnswers(Function<Session, T> answerWrite) {
+		for (int attempt = 1;; attempt++) {
+			try {
+				return transactionTemplate.execute(status -> inReadOnlySession(answerWrite));
+			} catch (OptimisticLockingFailureException e) {
+				if (attempt >= MAX_ANSWER_ATTEMPTS) {
+					throw e;
+				}
+				log.debug("Answers conflicted with another write to the same team, retrying (attempt {})", attempt);
+			}
+		}
+	}
+
+	/**
+	 * Runs the given work in the current transaction with entities loaded
+	 * read-only by default.
+	 */
+	private <T> T inReadOnlySession(Function<Session, T> work) {
+		Session session = entityManager.unwrap(Session.class);
+		session.setDefaultReadOnly(true);
+		try {
+			return work.apply(session);
+		} finally {
+			session.setDefaultReadOnly(false);
+		}
+	}
+
+	/**
+	 * Makes modifiable the team and its human factors, which answers change. The
+	 * users of the team stay read-only unless the score matrix is rebuilt, as it
+	 * may change their score slots.
+	 */
+	private void prepareAnswerWrite(Session session, Team team) {
+		session.setReadOnly(team, false);
+		for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+			session.setReadOnly(humanFactor, false);
+		}
+		List<User> users = team.getAllMembers();
+		for (User user : users) {
+			session.setReadOnly(user, false);
+		}
+		if (!team.prepareScores()) {
+			for (User user : users) {
+				session.setReadOnly(user, true);
+			}
+		}
+	}
+
+	private List<String> answerQuestions(Team team, List<AnswerDto> answers, Map<Long, HumanFactor> humanFactors) {
+		List<String> userEmails = new ArrayList<>();
+		List<HumanFactor> answeredHumanFactors = new ArrayList<>();
+		List<Question> answeredQuestions = new ArrayList<>();
+		List<Double> values = new ArrayList<>();
+		for (AnswerDto answer : answers) {
+			HumanFactor humanFactor = humanFactors.get(answer.getQuestionId());
+			userEmails.add(answer.getUserEmail());
+			answeredHumanFactors.add(humanFactor);
+			answeredQuestions.add(humanFactor.getQuestion(answer.getQuestionId()));
+			values.add(answer.getAnswer());
+		}
+		return team.answerQuestions(userEmails, answeredHumanFactors, answeredQuestions, values);
+	}
+
+	/**
+	 * Fetches every question answered, and the human factors they belong to, in a
+	 * single query, and checks that each question belongs to the user that
+	 * answers it. Both are made modifiable, as the answers change them.
+	 * 
+	 * @return Human factors by the id of their answered questions.
+	 */
+	private Map<Long, HumanFactor> findQuestions(Session session, List<AnswerDto> answers) {
+		Set<Long> questionIds = new HashSet<>();
+		for (AnswerDto answer : answers) {
+			questionIds.add(answer.getQuestionId());
+		}
+		Map<Long, HumanFactor> humanFactors = new HashMap<>();
+		for (HumanFactor humanFactor : humanFactorRepository.findByQuestionIdsFetchQuestions(questionIds)) {
+			session.setReadOnly(humanFactor, false);
+			for (Question question : humanFactor.getQuestions()) {
+				if (questionIds.contains(question.getId())) {
+					session.setReadOnly(question, false);
+					humanFactors.put(question.getId(), humanFactor);
+				}
+			}
+		}
+		Map<Long, String> ownerEmails = new HashMap<>();
+		if (!humanFactors.isEmpty()) {
+			Set<Long> humanFactorIds = new HashSet<>();
+			humanFactors.values().forEach(humanFactor -> humanFactorIds.add(humanFactor.getId()));
+			for (Object[] owner : humanFactorRepository.findOwnerEmails(humanFactorIds)) {
+				ownerEmails.put((Long) owner[0], (String) owner[1]);
+			}
+		}
+		for (AnswerDto answer : answers) {
+			HumanFactor humanFactor = humanFactors.get(answer.getQuestionId());
+			if (humanFactor == null || !answer.getUserEmail().equals(ownerEmails.get(humanFactor.getId()))) {
+				throw new QuestionNotFoundException(answer.getQuestionId());
+			}
+		}
+		return humanFactors;
+	}
+
+	@Transactional
 	public void pushQuestionsToSlack(Team team) throws IOException, SlackApiException {
 		Map<UserDto, List<QuestionDto>> questions = launchQuestions(team.getManager().getEmail());
 		for (Entry<UserDto, List<QuestionDto>> entry : questions.entrySet()) {
@@ -275,45 +629,170 @@ public class ModelController {
 	/**
 	 * Returns the recommended actions for the team managed by the given team manager.
 	 * @param teamManagerEmail Email of the team manager.
-	 * @return List of recommended actions.
+	 * @return List of recommended actions, from the most recommended to the least.
 	 */
 	public List<ActionDto> getRecommendedActions(String teamManagerEmail) {
-		Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
-		if(team == null) {
+		return getRecommendedActions(teamManagerEmail, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the most recommended actions for the team managed by the given team manager.
+	 * The ranking of the current version of the team is cached, so the team is only
+	 * loaded after its scores change.
+	 * @param teamManagerEmail Email of the team manager.
+	 * @param top Maximum amount of actions returned.
+	 * @return List of recommended actions, from the most recommended to the least.
+	 * @see RecommendedActionCache
+	 */
+	public List<ActionDto> getRecommendedActions(String teamManagerEmail, int top) {
+		Long teamId = teamRepository.findIdByTeamManagerEmail(teamManagerEmail);
+		if (teamId == null) {
 			throw new TeamManagerNotFoundException(teamManagerEmail);
 		}
-		Map<Action, Double> actions = team.getRecommendedActions();
-		List<ActionDto> actionsDto = new ArrayList<>();
-		for(Entry<Action, Double> entry : actions.entrySet()) {
-			ActionDto actionDto = new ActionDto();
-			actionDto.setId(entry.getKey().getId());
-			actionDto.setTitle(entry.getKey().getType().getTitle());
-			actionDto.setDescription(entry.getKey().getType().getDescription());
-			actionDto.setScore(entry.getValue());
-			actionsDto.add(actionDto);
+		// Teams with dirty scores are written when they are read, so their version changes
+		Long version = teamRepository.findVersionWithCleanScoresById(teamId);
+		long catalogVersion = humanFactorFactory.getCatalog().getVersion();
+		if (version != null) {
+			List<ActionDto> cached = recommendedActionCache.get(teamId, version, catalogVersion, top);
+			if (cached != null) {
+				return cached;
+			}
 		}
-		return actionsDto;
+		return readScores(teamManagerEmail, teamRepository::findForExportByTeamManagerEmail, team -> {
+			Map<Action, Double> actions = team.getRecommendedActions();
+			if (version != null && team.getVersion() == version) {
+				recommendedActionCache.put(teamId, version, catalogVersion, actions);
+			}
+			List<ActionDto> actionsDto = new ArrayList<>();
+			for(Entry<Action, Double> entry : actions.entrySet()) {
+				if (actionsDto.size() == top) {
+					break;
+				}
+				ActionDto actionDto = new ActionDto(entry.getKey());
+				actionDto.setScore(entry.getValue());
+				actionsDto.add(actionDto);
+			}
+			return actionsDto;
+		});
 	}
 
+	/**
+	 * Reads the human factors of the team from their columns, without loading the
+	 * team. If lazy scoring left any score dirty, the team is loaded to
+	 * recalculate them instead.
+	 */
 	public List<HumanFactorDto> getAllHumanFactors(String teamManagerEmail) {
-		Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
-		if(team == null) {
+		List<TeamHumanFactorView> views = teamRepository.findHumanFactorViews(teamManagerEmail);
+		if (views.isEmpty()) {
 			throw new TeamManagerNotFoundException(teamManagerEmail);
 		}
-		return HumanFactorDto.toDto(new ArrayList<>(team.getHumanFactors().values()));
+		if (views.stream().anyMatch(TeamHumanFactorView::isScoreDirty)) {
+			return readScores(teamManagerEmail, teamRepository::findForDashboardByTeamManagerEmail,
+					HumanFactorDto::toDto);
+		}
+		// Views are sorted by type id, so each one has the same index in the graph
+		long[] typeIds = views.stream().mapToLong(TeamHumanFactorView::getTypeId).toArray();
+		HumanFactorGraph graph = humanFactorFactory.getHumanFactorGraph().restrictTo(typeIds);
+		List<HumanFactorDto> humanFactors = new ArrayList<>();
+		for (int factor = 0; factor < views.size(); factor++) {
+			humanFactors.add(new HumanFactorDto(views.get(factor), toIds(views, graph.getAffectsTo(factor)),
+					toIds(views, graph.getAffectedBy(factor))));
+		}
+		return humanFactors;
 	}
 
+	/**
+	 * Reads a single human factor of the team and the ids of its dependencies,
+	 * without loading the team. If lazy scoring left its score dirty, the team is
+	 * loaded to recalculate it instead.
+	 */
 	public HumanFactorDto getHumanFactor(String teamManagerEmail, Long humanFactorId) {
-		Team team = teamRepository.findByTeamManagerEmail(teamManagerEmail);
-		if(team == null) {
-			throw new TeamManagerNotFoundException(teamManagerEmail);
+		TeamHumanFactorView view = teamRepository.findHumanFactorView(teamManagerEmail, humanFactorId);
+		if (view == null) {
+			if (teamRepository.findIdByTeamManagerEmail(teamManagerEmail) == null) {
+				throw new TeamManagerNotFoundException(teamManagerEmail);
+			}
+			throw new HumanFactorNotFoundException(humanFactorId);
 		}
-		for(TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
-			if(humanFactor.getId().equals(humanFactorId)) {
-				return new HumanFactorDto(humanFactor);
+		if (view.isScoreDirty()) {
+			return readScores(teamManagerEmail, teamRepository::findForDashboardByTeamManagerEmail, team -> {
+				for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+					if (humanFactor.getId().equals(humanFactorId)) {
+						return new HumanFactorDto(team, humanFactor);
+					}
+				}
+				throw new HumanFactorNotFoundException(humanFactorId);
+			});
+		}
+		HumanFactorGraph graph = humanFactorFactory.getHumanFactorGraph();
+		int factor = graph.indexOf(view.getTypeId());
+		int[] affectsTo = factor < 0 ? new int[0] : graph.getAffectsTo(factor);
+		int[] affectedBy = factor < 0 ? new int[0] : graph.getAffectedBy(factor);
+		Set<Long> dependencyTypeIds = new HashSet<>();
+		IntStream.concat(IntStream.of(affectsTo), IntStream.of(affectedBy))
+				.forEach(dependency -> dependencyTypeIds.add(graph.getTypeId(dependency)));
+		Map<Long, Long> idsByTypeId = new HashMap<>();
+		if (!dependencyTypeIds.isEmpty()) {
+			for (TeamHumanFactorView dependency : teamRepository.findHumanFactorViewsByTypeIds(teamManagerEmail,
+					dependencyTypeIds)) {
+				idsByTypeId.put(dependency.getTypeId(), dependency.getId());
+			}
+		}
+		return new HumanFactorDto(view, toIds(graph, affectsTo, idsByTypeId), toIds(graph, affectedBy, idsByTypeId));
+	}
+
+	/**
+	 * Reads the scores of the team of the given team manager. If lazy scoring left
+	 * any score dirty, the scores are recalculated and saved as an answer write,
+	 * under the lock of the team and retried on conflicts, so the next reads of
+	 * the same version do not recalculate them. Otherwise the team is read
+	 * read-only, and scores dirtied by an answer committed in between are only
+	 * recalculated in memory.
+	 * 
+	 * @param finder Query that loads the team with the associations the reader
+	 *               needs.
+	 * @param reader Builds the result from the team, inside its transaction.
+	 */
+	private <T> T readScores(String teamManagerEmail, Function<String, Team> finder, Function<Team, T> reader) {
+		Long dirtyTeamId = teamRepository.findIdWithDirtyScoresByTeamManagerEmail(teamManagerEmail);
+		Function<Session, T> read = session -> {
+			Team team = finder.apply(teamManagerEmail);
+			if (team == null) {
+				throw new TeamManagerNotFoundException(teamManagerEmail);
+			}
+			if (dirtyTeamId != null) {
+				prepareAnswerWrite(session, team);
+			}
+			team.materializeScores();
+			return reader.apply(team);
+		};
+		if (dirtyTeamId == null) {
+			return transactionTemplate.execute(status -> inReadOnlySession(read));
+		}
+		return writeAnswers(dirtyTeamId, read);
+	}
+
+	private static List<Long> toIds(List<TeamHumanFactorView> views, int[] factors) {
+		List<Long> ids = new ArrayList<>();
+		for (int factor : factors) {
+			ids.add(views.get(factor).getId());
+		}
+		return ids;
+	}
+
+	/**
+	 * Human factors the team does not have are skipped, as in
+	 * {@link Team#getAffectsTo(TeamHumanFactor)}.
+	 */
+	private static List<Long> toIds(HumanFactorGraph graph, int[] factors, Map<Long, Long> idsByTypeId) {
+		List<Long> ids = new ArrayList<>();
+		for (int factor : factors) {
+			Long id = idsByTypeId.get(graph.getTypeId(factor));
+			if (id != null) {
+				ids.add(id);
 			}
 		}
-		throw new HumanFactorNotFoundException(humanFactorId);
+		return ids;
 	}
 
 	private void scheduleQuestions(Team team) throws SchedulerException {
@@ -0,0 +1,87 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.suken27.humanfactorsjava.model.Action;
+import com.suken27.humanfactorsjava.model.dto.ActionDto;
+
+/**
+ * Keeps the ranking of the recommended actions of each team across requests,
+ * so reading the recommendations again does not load the team nor rank its
+ * actions. A ranking is only valid for the version of the team it was built
+ * from: every write that changes the scores of a team (answers, materialized
+ * scores, member changes and recomputations) increments the version, as does
+ * the score version of lazy scoring. The ranking is also tied to the catalog
+ * version, as the titles of the actions come from the catalog.
+ * <p>
+ * A single ranking is kept for each team, and it is replaced when the team
+ * changes.
+ *
+ * @see com.suken27.humanfactorsjava.model.Team#getVersion()
+ */
+@Component
+public class RecommendedActionCache {
+
+    private record Ranking(long teamVersion, long catalogVersion, List<ActionDto> actions) {
+    }
+
+    private final Map<Long, Ranking> rankings = new ConcurrentHashMap<>();
+
+    /**
+     * @param teamId         Id of the team.
+     * @param teamVersion    Current version of the team.
+     * @param catalogVersion Current version of the catalog.
+     * @param top            Maximum amount of actions returned.
+     * @return The most recommended actions, from the most recommended to the
+     *         least, or null if the ranking of that version is not cached.
+     */
+    public List<ActionDto> get(Long teamId, long teamVersion, long catalogVersion, int top) {
+        Ranking ranking = rankings.get(teamId);
+        if (ranking == null || ranking.teamVersion() != teamVersion || ranking.catalogVersion() != catalogVersion) {
+            return null;
+        }
+        return copy(ranking.actions(), top);
+    }
+
+    /**
+     * @param teamId         Id of the team.
+     * @param teamVersion    Version of the team the ranking was built from.
+     * @param catalogVersion Version of the catalog the ranking was built from.
+     * @param actions        Every recommended action of the team and its
+     *                       recommendation, in ranking order.
+     */
+    public void put(Long teamId, long teamVersion, long catalogVersion, Map<Action, Double> actions) {
+        List<ActionDto> actionsDto = new ArrayList<>();
+        for (Entry<Action, Double> entry : actions.entrySet()) {
+            ActionDto actionDto = new ActionDto(entry.getKey());
+            actionDto.setScore(entry.getValue());
+            actionsDto.add(actionDto);
+        }
+        // A concurrent read of an older version does not replace a newer ranking
+        rankings.merge(teamId, new Ranking(teamVersion, catalogVersion, actionsDto),
+                (cached, ranking) -> cached.teamVersion() > ranking.teamVersion() ? cached : ranking);
+    }
+
+    /**
+     * Returns copies, as the callers may change the actions they receive.
+     */
+    private static List<ActionDto> copy(List<ActionDto> actions, int top) {
+        List<ActionDto> copies = new ArrayList<>();
+        for (ActionDto action : actions.subList(0, Math.min(top, actions.size()))) {
+            ActionDto copy = new ActionDto();
+            copy.setId(action.getId());
+            copy.setTitle(action.getTitle());
+            copy.setDescription(action.getDescription());
+            copy.setScore(action.getScore());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+}
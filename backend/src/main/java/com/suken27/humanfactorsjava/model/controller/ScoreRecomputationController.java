@@ -0,0 +1,272 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.suken27.humanfactorsjava.model.Team;
+import com.suken27.humanfactorsjava.model.TeamHumanFactor;
+import com.suken27.humanfactorsjava.model.TeamMember;
+import com.suken27.humanfactorsjava.model.User;
+import com.suken27.humanfactorsjava.model.dto.ScoreRecomputationDto;
+import com.suken27.humanfactorsjava.repository.TeamRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recomputes the scores of every team from the current scores of its users,
+ * as needed when the catalog changes. Teams are read in pages, their scores are
+ * recalculated in parallel in a fork-join pool and the results are written with
+ * batched JDBC updates.
+ * <p>
+ * The writes honour the optimistic lock of the team: the rows of the page are
+ * locked and their versions compared with the ones loaded, and a team that
+ * received answers since it was loaded is loaded and recomputed again instead
+ * of being overwritten. Written teams get a new version, so answers that loaded
+ * them before fail and are retried.
+ */
+@Controller
+@Slf4j
+public class ScoreRecomputationController {
+
+    private static final String UPDATE_HUMAN_FACTOR = "UPDATE team_human_factor SET score = ?, user_score_sum = ?, "
+            + "user_score_count = ?, score_dirty = ? WHERE id = ?";
+    private static final String UPDATE_TEAM = "UPDATE team SET human_factor_user_scores = ?, "
+            + "materialized_score_version = ?, version = version + 1 WHERE id = ?";
+    private static final String UPDATE_USER_SLOT = "UPDATE users SET score_slot = ? WHERE id = ?";
+    private static final String LOCK_TEAMS = "SELECT id, version FROM team WHERE id IN (%s) FOR UPDATE";
+    /**
+     * Times a team is loaded and recomputed again when it keeps receiving answers
+     * while it is recomputed.
+     */
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${com.suken27.humanfactors.scoring.recomputation.pageSize:100}")
+    private int pageSize;
+
+    @Value("${com.suken27.humanfactors.scoring.recomputation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${com.suken27.humanfactors.scoring.recomputation.onStartup:false}")
+    private boolean onStartup;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AtomicLong recomputedTeams = new AtomicLong();
+    private final AtomicLong failedTeams = new AtomicLong();
+    private volatile boolean running;
+    private volatile long totalTeams;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime endTime;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recomputeOnStartup() {
+        if (onStartup) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the recomputation in the background, unless it is already running.
+     * 
+     * @return Progress of the recomputation.
+     */
+    public synchronized ScoreRecomputationDto start() {
+        if (!running) {
+            running = true;
+            recomputedTeams.set(0);
+            failedTeams.set(0);
+            totalTeams = teamRepository.count();
+            startTime = LocalDateTime.now();
+            endTime = null;
+            executor.submit(this::recomputeAll);
+        }
+        return getProgress();
+    }
+
+    public ScoreRecomputationDto getProgress() {
+        ScoreRecomputationDto progress = new ScoreRecomputationDto();
+        progress.setRunning(running);
+        progress.setStartTime(startTime);
+        progress.setEndTime(endTime);
+        progress.setTotalTeams(totalTeams);
+        progress.setRecomputedTeams(recomputedTeams.get());
+        progress.setFailedTeams(failedTeams.get());
+        if (startTime != null) {
+            long millis = Duration.between(startTime, endTime == null ? LocalDateTime.now() : endTime).toMillis();
+            progress.setTeamsPerSecond(millis == 0 ? 0.0 : recomputedTeams.get() * 1000.0 / millis);
+        }
+        return progress;
+    }
+
+    private void recomputeAll() {
+        ForkJoinPool pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            log.info("Recomputing the scores of [{}] teams", totalTeams);
+            List<Long> ids = teamRepository.findIdsAfter(0L, PageRequest.of(0, pageSize));
+            while (!ids.isEmpty()) {
+                recomputePage(pool, ids);
+                ids = teamRepository.findIdsAfter(ids.get(ids.size() - 1), PageRequest.of(0, pageSize));
+            }
+            log.info("Recomputed the scores of [{}] teams, [{}] failed", recomputedTeams.get(), failedTeams.get());
+        } catch (InterruptedException e) {
+            log.warn("Score recomputation interrupted");
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | ExecutionException e) {
+            log.error("Score recomputation stopped after [{}] teams", recomputedTeams.get(), e);
+        } finally {
+            pool.shutdown();
+            endTime = LocalDateTime.now();
+            running = false;
+        }
+    }
+
+    /**
+     * Loads the teams with every relation read by the recomputation, as they are
+     * recomputed in parallel once detached.
+     */
+    private List<Team> loadForScoring(List<Long> ids) {
+        List<Team> teams = teamRepository.findAllByIdForScoring(ids);
+        for (Team team : teams) {
+            Hibernate.initialize(team.getManager().getHumanFactors());
+            for (TeamMember member : team.getMembers()) {
+                Hibernate.initialize(member.getHumanFactors());
+            }
+        }
+        return teams;
+    }
+
+    private void recomputePage(ForkJoinPool pool, List<Long> ids) throws InterruptedException, ExecutionException {
+        List<Long> pending = ids;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<Long> pendingIds = pending;
+            List<Team> recomputed = recompute(pool, transactionTemplate.execute(status -> loadForScoring(pendingIds)));
+            pending = write(recomputed);
+            recomputedTeams.addAndGet(recomputed.size() - pending.size());
+            if (!pending.isEmpty() && attempt >= MAX_WRITE_ATTEMPTS) {
+                log.warn("Teams {} kept changing while they were recomputed", pending);
+                failedTeams.addAndGet(pending.size());
+                return;
+            }
+        }
+    }
+
+    private List<Team> recompute(ForkJoinPool pool, List<Team> teams) throws InterruptedException, ExecutionException {
+        ConcurrentLinkedQueue<Team> recomputed = new ConcurrentLinkedQueue<>();
+        pool.submit(() -> teams.parallelStream().forEach(team -> {
+            try {
+                team.recalculateScores();
+                recomputed.add(team);
+            } catch (RuntimeException e) {
+                log.error("Could not recompute the scores of team [{}]", team.getId(), e);
+                failedTeams.incrementAndGet();
+            }
+        })).get();
+        return new ArrayList<>(recomputed);
+    }
+
+    /**
+     * Writes the recomputed scores of the teams that did not change since they
+     * were loaded.
+     * 
+     * @return Ids of the teams that changed, which were not written.
+     */
+    private List<Long> write(List<Team> teams) {
+        if (teams.isEmpty()) {
+            return List.of();
+        }
+        List<Long> changed = new ArrayList<>();
+        List<Team> written = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Long> versions = new HashMap<>();
+            jdbcTemplate.query(String.format(LOCK_TEAMS, String.join(", ", Collections.nCopies(teams.size(), "?"))),
+                    (RowCallbackHandler) resultSet -> versions.put(resultSet.getLong(1), resultSet.getLong(2)),
+                    teams.stream().map(Team::getId).toArray());
+            List<Object[]> humanFactorRows = new ArrayList<>();
+            List<Object[]> teamRows = new ArrayList<>();
+            List<Object[]> userRows = new ArrayList<>();
+            for (Team team : teams) {
+                if (!Long.valueOf(team.getVersion()).equals(versions.get(team.getId()))) {
+                    changed.add(team.getId());
+                    continue;
+                }
+                written.add(team);
+                for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+                    humanFactorRows.add(new Object[] { humanFactor.getScore(), humanFactor.getUserScoreSum(),
+                            humanFactor.getUserScoreCount(), humanFactor.isScoreDirty(), humanFactor.getId() });
+                }
+                teamRows.add(new Object[] { team.getHumanFactorUserScores().toBytes(),
+                        team.getMaterializedScoreVersion(), team.getId() });
+                userRows.add(new Object[] { team.getManager().getScoreSlot(), team.getManager().getId() });
+                for (TeamMember member : team.getMembers()) {
+                    userRows.add(new Object[] { member.getScoreSlot(), member.getId() });
+                }
+            }
+            jdbcTemplate.batchUpdate(UPDATE_HUMAN_FACTOR, humanFactorRows);
+            jdbcTemplate.batchUpdate(UPDATE_TEAM, teamRows);
+            jdbcTemplate.batchUpdate(UPDATE_USER_SLOT, userRows);
+        });
+        evict(written);
+        return changed;
+    }
+
+    /**
+     * Evicts the written entities from the second-level cache, as the JDBC
+     * updates bypass it.
+     */
+    private void evict(List<Team> teams) {
+        Cache cache = entityManagerFactory.getCache();
+        for (Team team : teams) {
+            cache.evict(Team.class, team.getId());
+            for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+                cache.evict(TeamHumanFactor.class, humanFactor.getId());
+            }
+            cache.evict(User.class, team.getManager().getId());
+            for (TeamMember member : team.getMembers()) {
+                cache.evict(User.class, member.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.suken27.humanfactorsjava.model.HumanFactorScoreSnapshot;
+import com.suken27.humanfactorsjava.model.ScoreHistoryGranularity;
+import com.suken27.humanfactorsjava.model.Team;
+import com.suken27.humanfactorsjava.model.TeamHumanFactor;
+import com.suken27.humanfactorsjava.model.dto.ScoreHistoryDto;
+import com.suken27.humanfactorsjava.model.exception.TeamManagerNotFoundException;
+import com.suken27.humanfactorsjava.model.scheduling.ScheduleController;
+import com.suken27.humanfactorsjava.repository.HumanFactorScoreSnapshotRepository;
+import com.suken27.humanfactorsjava.repository.TeamRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the daily history of the scores of every team human factor and rolls
+ * it up by week or month.
+ * 
+ * @see HumanFactorScoreSnapshot
+ */
+@Controller
+@Slf4j
+public class ScoreSnapshotController {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private HumanFactorScoreSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private ScheduleController scheduleController;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${com.suken27.humanfactors.scoring.snapshot.cron:0 55 23 * * ?}")
+    private String snapshotCron;
+
+    @Value("${com.suken27.humanfactors.scoring.recomputation.pageSize:100}")
+    private int pageSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleSnapshots() throws SchedulerException {
+        scheduleController.scheduleScoreSnapshotJob(snapshotCron);
+    }
+
+    /**
+     * Appends the current score of every team human factor to the history. Teams
+     * that already have the snapshots of the given day are skipped, so the job
+     * can be run again after a failure.
+     * <p>
+     * Teams are loaded read-only, so scores left dirty by lazy scoring are only
+     * recalculated in memory for the snapshots. The teams are not written, so the
+     * snapshots never conflict with the answers written at the same time.
+     * 
+     * @param day Day of the snapshots.
+     * @return Amount of teams whose snapshots were taken.
+     */
+    public int takeSnapshots(LocalDate day) {
+        Set<Long> snapshotTeams = new HashSet<>(snapshotRepository.findTeamIdsByDay(day));
+        int teams = 0;
+        List<Long> ids = teamRepository.findIdsAfter(0L, PageRequest.of(0, pageSize));
+        while (!ids.isEmpty()) {
+            List<Long> pageIds = ids;
+            teams += transactionTemplate.execute(status -> takeSnapshots(pageIds, snapshotTeams, day));
+            ids = teamRepository.findIdsAfter(ids.get(ids.size() - 1), PageRequest.of(0, pageSize));
+        }
+        log.info("Score snapshots of [{}] taken for [{}] teams", day, teams);
+        return teams;
+    }
+
+    private int takeSnapshots(List<Long> ids, Set<Long> snapshotTeams, LocalDate day) {
+        int teams = 0;
+        List<HumanFactorScoreSnapshot> snapshots = new ArrayList<>();
+        // Associations loaded while the scores are recalculated are read-only too
+        Session session = entityManager.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+        try {
+            for (Team team : teamRepository.findAllByIdForScoring(ids)) {
+                if (snapshotTeams.contains(team.getId())) {
+                    continue;
+                }
+                team.materializeScores();
+                for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+                    snapshots.add(new HumanFactorScoreSnapshot(team, humanFactor, day));
+                }
+                teams++;
+            }
+        } finally {
+            session.setDefaultReadOnly(false);
+        }
+        snapshotRepository.saveAll(snapshots);
+        return teams;
+    }
+
+    /**
+     * Returns the history of the score of a human factor of the team managed by
+     * the given team manager.
+     * 
+     * @param teamManagerEmail Email of the team manager.
+     * @param humanFactorId    Id of the team human factor.
+     * @param from             First day of the history (included).
+     * @param to               Last day of the history (included).
+     * @param granularity      Period in which the daily snapshots are rolled up.
+     * @return Score of each period with snapshots, in chronological order.
+     */
+    public List<ScoreHistoryDto> getHistory(String teamManagerEmail, Long humanFactorId, LocalDate from, LocalDate to,
+            ScoreHistoryGranularity granularity) {
+        Long teamId = teamRepository.findIdByTeamManagerEmail(teamManagerEmail);
+        if (teamId == null) {
+            throw new TeamManagerNotFoundException(teamManagerEmail);
+        }
+        Map<LocalDate, List<HumanFactorScoreSnapshot>> periods = new LinkedHashMap<>();
+        for (HumanFactorScoreSnapshot snapshot : snapshotRepository.findHistory(teamId, humanFactorId, from, to)) {
+            periods.computeIfAbsent(granularity.periodStart(snapshot.getDay()), period -> new ArrayList<>())
+                    .add(snapshot);
+        }
+        List<ScoreHistoryDto> history = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<HumanFactorScoreSnapshot>> period : periods.entrySet()) {
+            history.add(rollUp(period.getKey(), period.getValue()));
+        }
+        return history;
+    }
+
+    private ScoreHistoryDto rollUp(LocalDate periodStart, List<HumanFactorScoreSnapshot> snapshots) {
+        double scoreSum = 0.0;
+        int scores = 0;
+        double coverageSum = 0.0;
+        for (HumanFactorScoreSnapshot snapshot : snapshots) {
+            if (snapshot.getScore() != null) {
+                scoreSum += snapshot.getScore();
+                scores++;
+            }
+            coverageSum += snapshot.getCoverage();
+        }
+        ScoreHistoryDto period = new ScoreHistoryDto();
+        period.setPeriodStart(periodStart);
+        period.setScore(scores == 0 ? null : scoreSum / scores);
+        period.setCoverage(coverageSum / snapshots.size());
+        period.setDays(snapshots.size());
+        return period;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes the writes to each team, so the answers of a team are applied one
+ * after another while the answers of different teams are applied in parallel.
+ * Teams are mapped to a fixed set of locks by their id, so two teams may share
+ * a lock, but a team always uses the same one. Locks are fair, so the writes
+ * waiting for a team are applied in the order they arrived.
+ * <p>
+ * Locks only serialize the writes of this application instance. Writes of other
+ * instances are still detected by the optimistic lock of the team.
+ * 
+ * @see com.suken27.humanfactorsjava.model.Team#getVersion()
+ */
+@Component
+public class TeamWriteLocks {
+
+    private final ReentrantLock[] locks;
+
+    public TeamWriteLocks(@Value("${com.suken27.humanfactors.answers.lockStripes:256}") int stripes) {
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock(true);
+        }
+    }
+
+    /**
+     * Runs a write to a team once every previous write to the team has finished.
+     * 
+     * @param teamId Id of the team.
+     * @param write  Write to the team. It must commit its transaction before
+     *               returning, so the next write reads its changes.
+     * @return Result of the write.
+     */
+    public <T> T write(Long teamId, Supplier<T> write) {
+        ReentrantLock lock = locks[stripe(teamId)];
+        lock.lock();
+        try {
+            return write.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int stripe(Long teamId) {
+        // Spreads consecutive ids, as they are the most common
+        long hash = teamId * 0x9E3779B97F4A7C15L;
+        return (int) Long.remainderUnsigned(hash >>> 16, locks.length);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import lombok.Data;
+
+/**
+ * Answer of a user to a question, used to answer questions in batches.
+ */
+@Data
+public class AnswerDto {
+
+    private String userEmail;
+    private Long questionId;
+    private Double answer;
+
+    public AnswerDto() {
+        super();
+    }
+
+    public AnswerDto(String userEmail, Long questionId, Double answer) {
+        this.userEmail = userEmail;
+        this.questionId = questionId;
+        this.answer = answer;
+    }
+
+}
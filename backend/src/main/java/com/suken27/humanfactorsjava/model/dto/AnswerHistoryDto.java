@@ -0,0 +1,27 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * Answer given to a question, either archived or still kept by the question.
+ */
+@Data
+public class AnswerHistoryDto {
+
+    private LocalDateTime creationTime;
+    private Double answerValue;
+    private boolean archived;
+
+    public AnswerHistoryDto() {
+        super();
+    }
+
+    public AnswerHistoryDto(LocalDateTime creationTime, Double answerValue, boolean archived) {
+        this.creationTime = creationTime;
+        this.answerValue = answerValue;
+        this.archived = archived;
+    }
+
+}
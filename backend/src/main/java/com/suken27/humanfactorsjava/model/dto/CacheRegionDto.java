@@ -0,0 +1,17 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import lombok.Data;
+
+/**
+ * Statistics of a region of the second-level cache since the application
+ * started.
+ */
+@Data
+public class CacheRegionDto {
+
+    private long hits;
+    private long misses;
+    private long puts;
+    private double hitRatio;
+
+}
@@ -0,0 +1,31 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.suken27.humanfactorsjava.model.CatalogSnapshot;
+
+import lombok.Data;
+
+/**
+ * Summary of the snapshot of the catalog in use.
+ */
+@Data
+public class CatalogDto {
+
+    private long version;
+    private LocalDateTime loadTime;
+    private int humanFactorTypes;
+    private int questionTypes;
+    private int actionTypes;
+
+    public CatalogDto(CatalogSnapshot catalog) {
+        version = catalog.getVersion();
+        loadTime = catalog.getLoadTime();
+        humanFactorTypes = catalog.getHumanFactorTypes().size();
+        questionTypes = catalog.getHumanFactorTypes().stream()
+                .mapToInt(humanFactorType -> humanFactorType.getQuestionTypes().size()).sum();
+        actionTypes = (int) catalog.getHumanFactorTypes().stream()
+                .flatMap(humanFactorType -> humanFactorType.getActionTypes().stream()).distinct().count();
+    }
+
+}
@@ -3,6 +3,7 @@ package com.suken27.humanfactorsjava.model.dto;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.suken27.humanfactorsjava.model.Team;
 import com.suken27.humanfactorsjava.model.TeamHumanFactor;
 
 import lombok.Data;
@@ -19,7 +20,12 @@ public class HumanFactorDto {
     private List<Long> affectsTo;
     private List<Long> affectedBy;
 
-    public HumanFactorDto(TeamHumanFactor entity) {
+    /**
+     * @param team   Team of the human factor, which knows the dependencies between
+     *               its human factors.
+     * @param entity Human factor of the team.
+     */
+    public HumanFactorDto(Team team, TeamHumanFactor entity) {
         this.id = entity.getId();
         this.title = entity.getType().getTitle();
         this.description = entity.getType().getDescription();
@@ -28,16 +34,32 @@ public class HumanFactorDto {
         this.isFullyMeasured = entity.isFullyMeasured();
         this.affectedBy = new ArrayList<Long>();
         this.affectsTo = new ArrayList<Long>();
-        for(TeamHumanFactor humanFactor : entity.getAffectsTo()) {
+        for(TeamHumanFactor humanFactor : team.getAffectsTo(entity)) {
             this.affectsTo.add(humanFactor.getId());
         }
-        for(TeamHumanFactor humanFactor : entity.getAffectedBy()) {
+        for(TeamHumanFactor humanFactor : team.getAffectedBy(entity)) {
             this.affectedBy.add(humanFactor.getId());
         }
     }
 
-    public static List<HumanFactorDto> toDto(List<TeamHumanFactor> entities) {
-        return entities.stream().map(HumanFactorDto::new).toList();
+    /**
+     * @param view       Columns of the human factor.
+     * @param affectsTo  Ids of the team human factors that depend on it.
+     * @param affectedBy Ids of the team human factors it depends on.
+     */
+    public HumanFactorDto(TeamHumanFactorView view, List<Long> affectsTo, List<Long> affectedBy) {
+        this.id = view.getId();
+        this.title = view.getTitle();
+        this.description = view.getDescription();
+        this.cluster = view.getCluster().name();
+        this.score = view.getScore();
+        this.isFullyMeasured = view.isFullyMeasured();
+        this.affectsTo = affectsTo;
+        this.affectedBy = affectedBy;
+    }
+
+    public static List<HumanFactorDto> toDto(Team team) {
+        return team.getHumanFactors().values().stream().map(entity -> new HumanFactorDto(team, entity)).toList();
     }
     
 }
@@ -0,0 +1,19 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Result of adding several members to a team at once.
+ */
+@Data
+public class MemberImportDto {
+
+    private TeamDto team;
+    private List<String> added = new ArrayList<>();
+    private List<String> alreadyInTeam = new ArrayList<>();
+    private List<String> inAnotherTeam = new ArrayList<>();
+
+}
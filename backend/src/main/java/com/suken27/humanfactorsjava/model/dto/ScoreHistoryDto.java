@@ -0,0 +1,21 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import java.time.LocalDate;
+
+import lombok.Data;
+
+/**
+ * Score of a human factor during a period (a day, week or month).
+ */
+@Data
+public class ScoreHistoryDto {
+
+    private LocalDate periodStart;
+    /**
+     * Average of the daily scores of the period, or null if there was no score.
+     */
+    private Double score;
+    private double coverage;
+    private int days;
+
+}
@@ -0,0 +1,21 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * Progress of the recomputation of the scores of every team.
+ */
+@Data
+public class ScoreRecomputationDto {
+
+    private boolean running;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long totalTeams;
+    private long recomputedTeams;
+    private long failedTeams;
+    private double teamsPerSecond;
+
+}
@@ -1,10 +1,13 @@
 package com.suken27.humanfactorsjava.model.dto;
 
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.time.DayOfWeek;
 
+import com.suken27.humanfactorsjava.model.QuestionFrequency;
 import com.suken27.humanfactorsjava.model.Team;
 import com.suken27.humanfactorsjava.model.TeamMember;
 
@@ -42,4 +45,21 @@ public class TeamDto {
         questionDayOfWeek = team.getQuestionDayOfWeek() == null ? null : team.getQuestionDayOfWeek().name();
         questionDayOfMonth = team.getQuestionDayOfMonth();
     }
+
+    /**
+     * Projection of the columns of a team. Members are not included.
+     */
+    public TeamDto(Long id, Long manager, LocalTime questionSendingTime, ZoneId timeZone, int questionsPerDay,
+            String slackBotToken, QuestionFrequency questionFrequency, DayOfWeek questionDayOfWeek,
+            int questionDayOfMonth) {
+        this.id = id;
+        this.manager = manager;
+        this.questionSendingTime = Team.toZonedTime(questionSendingTime, timeZone)
+                .format(DateTimeFormatter.ofPattern("HH:mm"));
+        this.questionsPerDay = questionsPerDay;
+        this.slackBotToken = slackBotToken;
+        this.questionFrequency = questionFrequency == null ? null : questionFrequency.name();
+        this.questionDayOfWeek = questionDayOfWeek == null ? null : questionDayOfWeek.name();
+        this.questionDayOfMonth = questionDayOfMonth;
+    }
 }
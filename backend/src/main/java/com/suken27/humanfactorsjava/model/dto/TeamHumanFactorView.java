@@ -0,0 +1,37 @@
+package com.suken27.humanfactorsjava.model.dto;
+
+import com.suken27.humanfactorsjava.model.Cluster;
+
+import lombok.Data;
+
+/**
+ * Columns of a team human factor and its type read by the dashboard, without
+ * loading the team.
+ * 
+ * @see HumanFactorDto#HumanFactorDto(TeamHumanFactorView, java.util.List, java.util.List)
+ */
+@Data
+public class TeamHumanFactorView {
+
+    private Long id;
+    private Long typeId;
+    private String title;
+    private String description;
+    private Cluster cluster;
+    private Double score;
+    private boolean fullyMeasured;
+    private boolean scoreDirty;
+
+    public TeamHumanFactorView(Long id, Long typeId, String title, String description, Cluster cluster, Double score,
+            boolean fullyMeasured, boolean scoreDirty) {
+        this.id = id;
+        this.typeId = typeId;
+        this.title = title;
+        this.description = description;
+        this.cluster = cluster;
+        this.score = score;
+        this.fullyMeasured = fullyMeasured;
+        this.scoreDirty = scoreDirty;
+    }
+
+}
@@ -15,6 +15,13 @@ public class TeamMemberDto extends UserDto {
         super();
     }
 
+    public TeamMemberDto(Long id, String email, String slackId, Long team) {
+        setId(id);
+        setEmail(email);
+        setSlackId(slackId);
+        setTeam(team);
+    }
+
     public TeamMemberDto(TeamMember entity) {
         super(entity);
         setTeam(entity.getTeam().getId());
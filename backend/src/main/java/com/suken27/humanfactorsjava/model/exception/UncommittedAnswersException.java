@@ -0,0 +1,51 @@
+package com.suken27.humanfactorsjava.model.exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Thrown when the answers of some teams of a batch could not be written. The
+ * answers of the rest of the teams are already committed, so only the
+ * uncommitted ones can be retried.
+ */
+public class UncommittedAnswersException extends RuntimeException {
+
+    private final transient List<String> answerTexts;
+    private final Set<Long> uncommittedTeamIds;
+
+    /**
+     * @param answerTexts        Answer to each question in text, in the order of
+     *                           the batch, or null if it was not committed.
+     * @param uncommittedTeamIds Ids of the teams whose answers were not committed.
+     * @param cause              Exception of the first team that failed.
+     */
+    public UncommittedAnswersException(List<String> answerTexts, Set<Long> uncommittedTeamIds,
+            RuntimeException cause) {
+        super("Could not write the answers of teams " + uncommittedTeamIds, cause);
+        this.answerTexts = Collections.unmodifiableList(new ArrayList<>(answerTexts));
+        this.uncommittedTeamIds = Set.copyOf(uncommittedTeamIds);
+    }
+
+    /**
+     * @param index Position of the answer in the batch.
+     * @return True if the answer was committed.
+     */
+    public boolean isCommitted(int index) {
+        return answerTexts.get(index) != null;
+    }
+
+    /**
+     * @return Answer to each question in text, in the order of the batch, or null
+     *         if it was not committed.
+     */
+    public List<String> getAnswerTexts() {
+        return answerTexts;
+    }
+
+    public Set<Long> getUncommittedTeamIds() {
+        return uncommittedTeamIds;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.suken27.humanfactorsjava.model.scheduling;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.suken27.humanfactorsjava.model.controller.AnswerArchiveController;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly job that moves the old answers of every question to the answer
+ * archive.
+ */
+@Slf4j
+public class AnswerArchivalJob implements Job {
+
+    @Autowired
+    private AnswerArchiveController answerArchiveController;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        log.debug("Archiving old answers");
+        answerArchiveController.archiveAnswers();
+    }
+
+}
@@ -7,6 +7,7 @@ import java.util.Map.Entry;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import com.slack.api.bolt.App;
 import com.slack.api.model.block.LayoutBlock;
@@ -21,10 +22,15 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class QuestionSendingJob implements Job {
 
+    /**
+     * The controller is injected instead of taken from the job data, so the
+     * questions are launched inside its transaction.
+     */
+    @Autowired
+    private ModelController modelController;
+
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
-        ModelController modelController = (ModelController) context.getJobDetail().getJobDataMap()
-                .get("modelController");
         App slackApp = (App) context.getJobDetail().getJobDataMap().get("slackApp");
         SlackBlockBuilder slackBlockBuilder = (SlackBlockBuilder) context.getJobDetail().getJobDataMap()
                 .get("slackBlockBuilder");
@@ -2,6 +2,7 @@ package com.suken27.humanfactorsjava.model.scheduling;
 
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
+import org.quartz.Job;
 import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
@@ -20,6 +21,9 @@ import com.suken27.humanfactorsjava.slack.SlackBlockBuilder;
 @Controller
 public class ScheduleController {
 
+    private static final String SCORE_SNAPSHOT_JOB = "ScoreSnapshotJob";
+    private static final String ANSWER_ARCHIVAL_JOB = "AnswerArchivalJob";
+
     @Autowired
     private Scheduler scheduler;
 
@@ -36,6 +40,21 @@ public class ScheduleController {
         scheduler.scheduleJob(jobDetail, trigger);
     }
 
+    public void scheduleScoreSnapshotJob(String cronExpression) throws SchedulerException {
+        scheduleMaintenanceJob(ScoreSnapshotJob.class, SCORE_SNAPSHOT_JOB, cronExpression);
+    }
+
+    public void scheduleAnswerArchivalJob(String cronExpression) throws SchedulerException {
+        scheduleMaintenanceJob(AnswerArchivalJob.class, ANSWER_ARCHIVAL_JOB, cronExpression);
+    }
+
+    private void scheduleMaintenanceJob(Class<? extends Job> jobClass, String name, String cronExpression)
+            throws SchedulerException {
+        scheduler.deleteJob(new JobKey(name));
+        JobDetail jobDetail = JobBuilder.newJob(jobClass).storeDurably().withIdentity(name).build();
+        scheduler.scheduleJob(jobDetail, createTrigger(jobDetail, cronExpression));
+    }
+
     private JobDetail createJobDetail(String name, JobDataMap jobDataMap) {
         return JobBuilder.newJob(QuestionSendingJob.class).storeDurably().withIdentity(name).setJobData(jobDataMap).build();
     }
@@ -0,0 +1,31 @@
+package com.suken27.humanfactorsjava.model.scheduling;
+
+import java.time.LocalDate;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.suken27.humanfactorsjava.model.controller.ScoreSnapshotController;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly job that appends the score of every team human factor to the
+ * snapshot history.
+ */
+@Slf4j
+public class ScoreSnapshotJob implements Job {
+
+    @Autowired
+    private ScoreSnapshotController scoreSnapshotController;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        LocalDate today = LocalDate.now();
+        log.debug("Taking score snapshots of [{}]", today);
+        scoreSnapshotController.takeSnapshots(today);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.suken27.humanfactorsjava.repository;
+
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.suken27.humanfactorsjava.model.ArchivedAnswer;
+import com.suken27.humanfactorsjava.model.dto.AnswerHistoryDto;
+
+import jakarta.persistence.QueryHint;
+
+public interface ArchivedAnswerRepository extends JpaRepository<ArchivedAnswer, Long> {
+
+    /**
+     * Must be called inside a transaction, and the stream must be closed before
+     * running another query. The minimum fetch size makes the MySQL driver read
+     * the rows one by one instead of loading the whole history.
+     */
+    @Query("Select new com.suken27.humanfactorsjava.model.dto.AnswerHistoryDto(a.creationTime, a.answerValue, true) FROM ArchivedAnswer a WHERE a.questionId = ?1 ORDER BY a.creationTime")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    public Stream<AnswerHistoryDto> streamHistory(Long questionId);
+
+    public long countByQuestionId(Long questionId);
+
+}
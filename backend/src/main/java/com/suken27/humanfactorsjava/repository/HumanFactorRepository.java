@@ -0,0 +1,37 @@
+package com.suken27.humanfactorsjava.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.suken27.humanfactorsjava.model.HumanFactor;
+
+public interface HumanFactorRepository extends JpaRepository<HumanFactor, Long> {
+
+    /**
+     * Loads the human factor that owns the given question together with its
+     * questions, without loading the rest of the user.
+     */
+    @Query("Select DISTINCT h FROM HumanFactor h JOIN FETCH h.questions JOIN h.questions q WHERE q.id = ?1")
+    public HumanFactor findByQuestionIdFetchQuestions(Long questionId);
+
+    @Query("Select DISTINCT h FROM HumanFactor h JOIN FETCH h.questions JOIN h.questions q WHERE q.id IN ?1")
+    public List<HumanFactor> findByQuestionIdsFetchQuestions(Collection<Long> questionIds);
+
+    /**
+     * Reads the owner of a human factor from the join table, without loading the
+     * user's human factors.
+     */
+    @Query("SELECT u.email FROM User u JOIN u.humanFactors h WHERE h.id = ?1")
+    public String findOwnerEmail(Long humanFactorId);
+
+    /**
+     * @return Pairs of human factor id and email of the user that owns it.
+     * @see #findOwnerEmail(Long)
+     */
+    @Query("SELECT h.id, u.email FROM User u JOIN u.humanFactors h WHERE h.id IN ?1")
+    public List<Object[]> findOwnerEmails(Collection<Long> humanFactorIds);
+
+}
@@ -0,0 +1,19 @@
+package com.suken27.humanfactorsjava.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.suken27.humanfactorsjava.model.HumanFactorScoreSnapshot;
+
+public interface HumanFactorScoreSnapshotRepository extends JpaRepository<HumanFactorScoreSnapshot, Long> {
+
+    @Query("Select s FROM HumanFactorScoreSnapshot s WHERE s.teamId = ?1 AND s.humanFactorId = ?2 AND s.day BETWEEN ?3 AND ?4 ORDER BY s.day")
+    public List<HumanFactorScoreSnapshot> findHistory(Long teamId, Long humanFactorId, LocalDate from, LocalDate to);
+
+    @Query("Select DISTINCT s.teamId FROM HumanFactorScoreSnapshot s WHERE s.day = ?1")
+    public List<Long> findTeamIdsByDay(LocalDate day);
+
+}
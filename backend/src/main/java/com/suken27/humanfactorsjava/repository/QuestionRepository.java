@@ -1,9 +1,26 @@
 package com.suken27.humanfactorsjava.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.suken27.humanfactorsjava.model.Question;
+import com.suken27.humanfactorsjava.model.dto.AnswerHistoryDto;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
-    
+
+    @Query("Select new com.suken27.humanfactorsjava.model.dto.AnswerHistoryDto(a.creationTime, a.answerValue, false) FROM Question q JOIN q.answers a WHERE q.id = ?1 ORDER BY a.creationTime")
+    public List<AnswerHistoryDto> findAnswerHistory(Long questionId);
+
+    @Query("Select q.id FROM Question q WHERE q.id IN ?1")
+    public List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("Select count(m) > 0 FROM TeamMember m JOIN m.humanFactors h JOIN h.questions q WHERE m.team.id = ?1 AND q.id = ?2")
+    public boolean existsInTeamMembers(Long teamId, Long questionId);
+
+    @Query("Select count(m) > 0 FROM TeamManager m JOIN m.humanFactors h JOIN h.questions q WHERE m.team.id = ?1 AND q.id = ?2")
+    public boolean existsInTeamManager(Long teamId, Long questionId);
+
 }
@@ -1,11 +1,25 @@
 package com.suken27.humanfactorsjava.repository;
 
+import java.util.Collection;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.suken27.humanfactorsjava.model.Role;
 import com.suken27.humanfactorsjava.model.TeamManager;
 
 public interface TeamManagerRepository extends JpaRepository<TeamManager, Long> {
 
     public TeamManager findByEmail(String email);
 
-}
\ No newline at end of file
+    /**
+     * @return Amount of team managers whose role changed.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TeamManager t SET t.role = ?2 WHERE t.email IN ?1 AND t.role <> ?2")
+    public int updateRoleByEmailIn(Collection<String> emails, Role role);
+
+}
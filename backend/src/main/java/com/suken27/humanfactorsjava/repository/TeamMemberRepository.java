@@ -1,11 +1,13 @@
 package com.suken27.humanfactorsjava.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import com.suken27.humanfactorsjava.model.TeamMember;
+import com.suken27.humanfactorsjava.model.dto.TeamMemberDto;
 
 public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     
@@ -14,5 +16,11 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
 
     @Query("Select m FROM TeamMember m WHERE m.email = ?1")
     public List<TeamMember> findByEmailIncludingDeleted(String email);
+
+    @Query("Select new com.suken27.humanfactorsjava.model.dto.TeamMemberDto(m.id, m.email, m.slackId, m.team.id) FROM TeamMember m WHERE m.team.id = ?1 ORDER BY m.id")
+    public List<TeamMemberDto> findDtosByTeamId(Long teamId);
+
+    @Query("Select m.email FROM TeamMember m WHERE m.email IN ?1 AND m.deleted = false")
+    public List<String> findEmailsIn(Collection<String> emails);
     
 }
@@ -1,9 +1,16 @@
 package com.suken27.humanfactorsjava.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import com.suken27.humanfactorsjava.model.Team;
+import com.suken27.humanfactorsjava.model.dto.TeamDto;
+import com.suken27.humanfactorsjava.model.dto.TeamHumanFactorView;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
@@ -13,7 +20,72 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     @Query("Select t FROM Team t left join fetch t.members, TeamManager m WHERE t.manager = m AND m.id = ?1")
     public Team findByTeamManagerId(Long id);
 
-    @Query("Select t FROM Team t LEFT JOIN FETCH t.members mem LEFT JOIN FETCH t.manager man WHERE man.email = ?1 OR mem.email = ?1")
+    // The member is searched in a subquery, as filtering the fetched members would
+    // load the team with only that member
+    @EntityGraph(Team.ANSWER_GRAPH)
+    @Query("Select DISTINCT t FROM Team t LEFT JOIN FETCH t.manager man WHERE man.email = ?1 OR EXISTS (Select mem FROM TeamMember mem WHERE mem.team = t AND mem.email = ?1)")
     public Team findByMemberEmail(String email);
 
+    // Managers and members share the users table, managers keep their team in
+    // managed_team_id and removed members have no team, so the team id is read from
+    // the email index alone
+    @Query(value = "SELECT COALESCE(team_id, managed_team_id) FROM users WHERE email = ?1 "
+            + "AND (team_id IS NOT NULL OR managed_team_id IS NOT NULL)", nativeQuery = true)
+    public Long findIdByMemberEmail(String email);
+
+    @EntityGraph(Team.ANSWER_GRAPH)
+    @Query("Select t FROM Team t WHERE t.manager.email = ?1")
+    public Team findForAnswerByTeamManagerEmail(String email);
+
+    @EntityGraph(Team.ANSWER_GRAPH)
+    @Query("Select DISTINCT t FROM Team t LEFT JOIN FETCH t.manager WHERE t.id = ?1")
+    public Team findForAnswerById(Long id);
+
+    @EntityGraph(Team.LAUNCH_GRAPH)
+    @Query("Select t FROM Team t WHERE t.manager.email = ?1")
+    public Team findForLaunchByTeamManagerEmail(String email);
+
+    @EntityGraph(Team.DASHBOARD_GRAPH)
+    @Query("Select t FROM Team t WHERE t.manager.email = ?1")
+    public Team findForDashboardByTeamManagerEmail(String email);
+
+    @EntityGraph(Team.EXPORT_GRAPH)
+    @Query("Select t FROM Team t WHERE t.manager.email = ?1")
+    public Team findForExportByTeamManagerEmail(String email);
+
+    @Query("Select new com.suken27.humanfactorsjava.model.dto.TeamDto(t.id, t.manager.id, t.questionSendingTime, t.timeZone, t.questionsPerDay, t.slackBotToken, t.questionFrequency, t.questionDayOfWeek, t.questionDayOfMonth) FROM Team t WHERE t.manager.email = ?1")
+    public TeamDto findDtoByTeamManagerEmail(String email);
+
+    @Query("Select new com.suken27.humanfactorsjava.model.dto.TeamHumanFactorView(h.id, KEY(h).id, KEY(h).title, KEY(h).description, KEY(h).cluster, h.score, h.isFullyMeasured, h.scoreDirty) FROM Team t JOIN t.humanFactors h WHERE t.manager.email = ?1 ORDER BY KEY(h).id")
+    public List<TeamHumanFactorView> findHumanFactorViews(String teamManagerEmail);
+
+    @Query("Select new com.suken27.humanfactorsjava.model.dto.TeamHumanFactorView(h.id, KEY(h).id, KEY(h).title, KEY(h).description, KEY(h).cluster, h.score, h.isFullyMeasured, h.scoreDirty) FROM Team t JOIN t.humanFactors h WHERE t.manager.email = ?1 AND h.id = ?2")
+    public TeamHumanFactorView findHumanFactorView(String teamManagerEmail, Long humanFactorId);
+
+    @Query("Select new com.suken27.humanfactorsjava.model.dto.TeamHumanFactorView(h.id, KEY(h).id, KEY(h).title, KEY(h).description, KEY(h).cluster, h.score, h.isFullyMeasured, h.scoreDirty) FROM Team t JOIN t.humanFactors h WHERE t.manager.email = ?1 AND KEY(h).id IN ?2 ORDER BY KEY(h).id")
+    public List<TeamHumanFactorView> findHumanFactorViewsByTypeIds(String teamManagerEmail, Collection<Long> typeIds);
+
+    @Query("Select t.id FROM Team t WHERE t.manager.email = ?1")
+    public Long findIdByTeamManagerEmail(String email);
+
+    @Query("Select t.id FROM Team t WHERE t.manager.id = ?1")
+    public Long findIdByTeamManagerId(Long id);
+
+    // Scores left dirty by lazy scoring since the last materialization
+    @Query("Select t.id FROM Team t WHERE t.manager.email = ?1 AND t.materializedScoreVersion <> t.scoreVersion")
+    public Long findIdWithDirtyScoresByTeamManagerEmail(String email);
+
+    @Query("Select t.version FROM Team t WHERE t.id = ?1 AND t.materializedScoreVersion = t.scoreVersion")
+    public Long findVersionWithCleanScoresById(Long id);
+
+    @Query("Select t.id FROM Team t WHERE t.id > ?1 ORDER BY t.id")
+    public List<Long> findIdsAfter(Long id, Pageable pageable);
+
+    @Query("Select DISTINCT t FROM Team t LEFT JOIN FETCH t.members LEFT JOIN FETCH t.manager WHERE t.id IN ?1")
+    public List<Team> findAllByIdFetchMembers(List<Long> ids);
+
+    @EntityGraph(Team.ANSWER_GRAPH)
+    @Query("Select DISTINCT t FROM Team t LEFT JOIN FETCH t.manager WHERE t.id IN ?1")
+    public List<Team> findAllByIdForScoring(List<Long> ids);
+
 }
@@ -3,8 +3,6 @@ package com.suken27.humanfactorsjava.rest.api;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.Comparator;
-import java.util.ArrayList;
 import java.io.ByteArrayOutputStream;
 
 import org.springframework.http.HttpHeaders;
@@ -34,7 +32,8 @@ public class ActionsExportController {
           @RequestParam(name = "format", defaultValue = "csv") String format) {
 
       String teamManagerEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-      List<ActionDto> list = modelController.getRecommendedActions(teamManagerEmail)
+      // The recommended actions are already ranked by score and id
+      List<ActionDto> sorted = modelController.getRecommendedActions(teamManagerEmail)
         .stream()
         .map(a -> {
             if (a.getScore() != null) {
@@ -44,14 +43,6 @@ public class ActionsExportController {
         })
         .collect(Collectors.toList());
 
-
-      List<ActionDto> sorted = new ArrayList<>(list);
-      sorted.sort(
-          Comparator
-              .comparing(ActionDto::getScore, Comparator.nullsLast(Comparator.reverseOrder()))
-              .thenComparing(ActionDto::getId)
-      );
-
       String f = format.trim().toLowerCase();
       switch (f) {
           case "csv": {
@@ -0,0 +1,104 @@
+package com.suken27.humanfactorsjava.rest.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suken27.humanfactorsjava.model.controller.AnswerArchiveController;
+import com.suken27.humanfactorsjava.model.controller.ModelController;
+import com.suken27.humanfactorsjava.model.dto.AnswerDto;
+import com.suken27.humanfactorsjava.model.exception.QuestionNotFoundException;
+import com.suken27.humanfactorsjava.model.exception.TeamMemberNotFoundException;
+import com.suken27.humanfactorsjava.rest.exception.IncorrectEmailFormatException;
+import com.suken27.humanfactorsjava.rest.util.ApiValidator;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+public class AnswerController {
+
+    @Autowired
+    private ModelController modelController;
+
+    @Autowired
+    private AnswerArchiveController answerArchiveController;
+
+    @Autowired
+    private ApiValidator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Answers questions of the users of the authenticated team manager's team.
+     * Every answer is applied with a single load and save of the team.
+     * 
+     * @param answers Answers of the team's users.
+     * @return Answer to each question in text, in the same order.
+     */
+    @PostMapping("/answers/batch")
+    public ResponseEntity<?> answerQuestions(@RequestBody List<AnswerDto> answers) {
+        if (answers == null || answers.isEmpty()) {
+            return ResponseEntity.badRequest().body("No answers.");
+        }
+        for (AnswerDto answer : answers) {
+            if (!validator.isValidEmail(answer.getUserEmail())) {
+                return ResponseEntity.badRequest().body(new IncorrectEmailFormatException(answer.getUserEmail()));
+            }
+            if (answer.getQuestionId() == null || answer.getAnswer() == null || answer.getAnswer() < 0.0
+                    || answer.getAnswer() > 1.0) {
+                return ResponseEntity.badRequest().body("Invalid answer.");
+            }
+        }
+        String teamManagerEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        try {
+            return ResponseEntity.ok().body(modelController.answerQuestions(teamManagerEmail, answers));
+        } catch (TeamMemberNotFoundException | QuestionNotFoundException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Streams every answer given to a question of a user of the authenticated
+     * team manager's team as newline delimited JSON, from the oldest to the
+     * newest.
+     * 
+     * @param questionId Id of the question.
+     */
+    @GetMapping("/answers/history/{questionId}")
+    public void history(@PathVariable Long questionId, HttpServletResponse response) throws IOException {
+        String teamManagerEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = response.getOutputStream();
+        try {
+            answerArchiveController.streamAnswerHistory(teamManagerEmail, questionId, answer -> {
+                try {
+                    output.write(objectMapper.writeValueAsBytes(answer));
+                    output.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (QuestionNotFoundException e) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), e.getMessage());
+            return;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        output.flush();
+    }
+
+}
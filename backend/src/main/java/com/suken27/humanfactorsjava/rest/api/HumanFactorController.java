@@ -1,13 +1,19 @@
 package com.suken27.humanfactorsjava.rest.api;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.suken27.humanfactorsjava.model.ScoreHistoryGranularity;
 import com.suken27.humanfactorsjava.model.controller.ModelController;
+import com.suken27.humanfactorsjava.model.controller.ScoreSnapshotController;
 import com.suken27.humanfactorsjava.model.dto.HumanFactorDto;
 
 @RestController
@@ -15,8 +21,11 @@ public class HumanFactorController {
     
     private ModelController modelController;
 
-    public HumanFactorController(ModelController modelController) {
+    private ScoreSnapshotController scoreSnapshotController;
+
+    public HumanFactorController(ModelController modelController, ScoreSnapshotController scoreSnapshotController) {
         this.modelController = modelController;
+        this.scoreSnapshotController = scoreSnapshotController;
     }
 
     @GetMapping("/humanfactor")
@@ -31,4 +40,23 @@ public class HumanFactorController {
         return modelController.getHumanFactor(teamManagerEmail, id);
     }
 
+    @GetMapping("/humanfactor/{id}/history")
+    public ResponseEntity<?> history(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") String granularity) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("The start of the history is after its end.");
+        }
+        ScoreHistoryGranularity historyGranularity;
+        try {
+            historyGranularity = ScoreHistoryGranularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid granularity value.");
+        }
+        String teamManagerEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok()
+                .body(scoreSnapshotController.getHistory(teamManagerEmail, id, from, to, historyGranularity));
+    }
+
 }
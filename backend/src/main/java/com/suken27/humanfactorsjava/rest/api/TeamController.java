@@ -2,7 +2,12 @@ package com.suken27.humanfactorsjava.rest.api;
 
 import java.io.IOException;
 import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.time.DayOfWeek;
 
 import org.quartz.SchedulerException;
@@ -15,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.slack.api.methods.SlackApiException;
@@ -36,6 +42,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TeamController {
 
+    private static final int MAX_IMPORTED_MEMBERS = 1000;
+
     @Autowired
     private ModelController modelController;
 
@@ -78,6 +86,48 @@ public class TeamController {
         return ResponseEntity.ok().body(team);
     }
 
+    /**
+     * Adds several members to the authenticated team manager's team, for example
+     * from a CSV file with one email per line. The Slack ids of the members are
+     * resolved with a single snapshot of the workspace directory.
+     * 
+     * @param emails Emails of the new members, separated by commas, semicolons,
+     *               or line breaks. An "email" header is ignored.
+     * @return The updated team and the emails that were added or skipped.
+     */
+    @PostMapping("/teams/import")
+    public ResponseEntity<?> importTeamMembers(@RequestBody String emails) {
+        Set<String> emailSet = new LinkedHashSet<>();
+        for (String email : emails.split("[,;\\s]+")) {
+            if (email.isEmpty() || email.equalsIgnoreCase("email")) {
+                continue;
+            }
+            if (!validator.isValidEmail(email)) {
+                return ResponseEntity.badRequest().body(new IncorrectEmailFormatException(email));
+            }
+            emailSet.add(email);
+        }
+        if (emailSet.isEmpty()) {
+            return ResponseEntity.badRequest().body("No emails.");
+        }
+        if (emailSet.size() > MAX_IMPORTED_MEMBERS) {
+            return ResponseEntity.badRequest().body("At most " + MAX_IMPORTED_MEMBERS + " members can be imported at once.");
+        }
+        String teamManagerEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        Map<String, String> slackIds = new HashMap<>();
+        try {
+            slackIds = slackMethodHandler.getUserIds(emailSet,
+                    modelController.getTeam(teamManagerEmail).getSlackBotToken());
+        } catch(Exception e) {
+            log.debug("Tried to retrieve the slack ids of [{}] imported members, but failed. No slack ids will be added to the members.", emailSet.size(), e);
+        }
+        Map<String, String> members = new LinkedHashMap<>();
+        for (String email : emailSet) {
+            members.put(email, slackIds.get(email));
+        }
+        return ResponseEntity.ok().body(modelController.addTeamMembers(teamManagerEmail, members));
+    }
+
     @DeleteMapping("/teams/{email}")
     public ResponseEntity<?> removeTeamMember(@PathVariable String email) {
         if(email == null || !validator.isValidEmail(email)) {
@@ -126,9 +176,13 @@ public class TeamController {
     }
 
     @GetMapping("/teams/actions")
-    public ResponseEntity<?> getActions() {
+    public ResponseEntity<?> getActions(@RequestParam(required = false) Integer top) {
+        if (top != null && top < 1) {
+            return ResponseEntity.badRequest().body("Invalid top value.");
+        }
         String teamManagerEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<ActionDto> actions = modelController.getRecommendedActions(teamManagerEmail);
+        List<ActionDto> actions = modelController.getRecommendedActions(teamManagerEmail,
+                top == null ? Integer.MAX_VALUE : top);
         return ResponseEntity.ok().body(actions);
     }
 
@@ -0,0 +1,51 @@
+package com.suken27.humanfactorsjava.security;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.suken27.humanfactorsjava.model.Role;
+import com.suken27.humanfactorsjava.repository.TeamManagerRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grants the ADMIN role, required by the actuator endpoints, to the team
+ * managers whose email is configured as an admin email. The role is granted on
+ * startup to the existing team managers, and on registration to new ones.
+ * Removing an email from the configuration does not revoke the role.
+ */
+@Component
+@Slf4j
+public class AdminRoleGrant {
+
+    @Autowired
+    private TeamManagerRepository teamManagerRepository;
+
+    @Value("${com.suken27.humanfactors.security.adminEmails:}")
+    private List<String> adminEmails;
+
+    /**
+     * @param email Email of a team manager being registered.
+     * @return Role of the team manager.
+     */
+    public Role roleOf(String email) {
+        return adminEmails.contains(email) ? Role.ADMIN : Role.USER;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void grantOnStartup() {
+        if (adminEmails.isEmpty()) {
+            return;
+        }
+        int granted = teamManagerRepository.updateRoleByEmailIn(adminEmails, Role.ADMIN);
+        if (granted > 0) {
+            log.info("Granted the ADMIN role to [{}] team managers", granted);
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.suken27.humanfactorsjava.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +23,8 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
+import com.suken27.humanfactorsjava.model.Role;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfiguration {
@@ -60,7 +64,12 @@ public class SecurityConfiguration {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(mvc.pattern("/login"), mvc.pattern("/signup"), mvc.pattern("/error**"))
-                        .permitAll().anyRequest().authenticated());
+                        .permitAll()
+                        // Every actuator endpoint but health can trigger fleet-wide work or expose
+                        // internals (score recomputation, catalog reload, cache statistics)
+                        .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class))
+                        .hasRole(Role.ADMIN.name())
+                        .anyRequest().authenticated());
         http.authenticationProvider(daoAuthenticationProvider);
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
         http.cors(Customizer.withDefaults());
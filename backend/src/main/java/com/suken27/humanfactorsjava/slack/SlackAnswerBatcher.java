@@ -0,0 +1,141 @@
+package com.suken27.humanfactorsjava.slack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.suken27.humanfactorsjava.model.controller.ModelController;
+import com.suken27.humanfactorsjava.model.dto.AnswerDto;
+import com.suken27.humanfactorsjava.model.exception.UncommittedAnswersException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects the answers received from Slack during a short delay and answers
+ * them in a single batch, so a burst of answers after the questions are sent
+ * loads and saves each team once instead of once per answer.
+ */
+@Component
+@Slf4j
+public class SlackAnswerBatcher {
+
+    private static class PendingAnswer {
+
+        private final String userId;
+        private final Long questionId;
+        private final String answer;
+        private final String slackBotToken;
+        private final CompletableFuture<String> answerText = new CompletableFuture<>();
+
+        private PendingAnswer(String userId, Long questionId, String answer, String slackBotToken) {
+            this.userId = userId;
+            this.questionId = questionId;
+            this.answer = answer;
+            this.slackBotToken = slackBotToken;
+        }
+
+    }
+
+    @Autowired
+    private ModelController modelController;
+
+    @Autowired
+    private SlackMethodHandler slackMethodHandler;
+
+    @Value("${com.suken27.humanfactors.slack.answerBatchDelayMs:500}")
+    private long batchDelayMs;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final List<PendingAnswer> pending = new ArrayList<>();
+
+    /**
+     * Queues the answer of a Slack user to a question. It will be answered with
+     * the rest of the answers received before the batch delay expires.
+     * 
+     * @param userId        Slack id of the user that answers the question.
+     * @param questionId    Id of the question.
+     * @param answer        Answer to the question (value between 0.0 and 1.0)
+     * @param slackBotToken Bot token of the workspace of the user.
+     * @return Answer to the question in text, once it has been answered.
+     */
+    public CompletableFuture<String> submit(String userId, Long questionId, String answer, String slackBotToken) {
+        PendingAnswer pendingAnswer = new PendingAnswer(userId, questionId, answer, slackBotToken);
+        synchronized (pending) {
+            pending.add(pendingAnswer);
+            if (pending.size() == 1) {
+                executor.schedule(this::flush, batchDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        return pendingAnswer.answerText;
+    }
+
+    private void flush() {
+        List<PendingAnswer> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        List<PendingAnswer> resolved = new ArrayList<>();
+        List<AnswerDto> answers = new ArrayList<>();
+        for (PendingAnswer pendingAnswer : batch) {
+            try {
+                answers.add(new AnswerDto(
+                        slackMethodHandler.getUserEmail(pendingAnswer.userId, pendingAnswer.slackBotToken),
+                        pendingAnswer.questionId, Double.parseDouble(pendingAnswer.answer)));
+                resolved.add(pendingAnswer);
+            } catch (Exception e) {
+                pendingAnswer.answerText.completeExceptionally(e);
+            }
+        }
+        if (resolved.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> answerTexts = modelController.answerQuestions(answers);
+            for (int i = 0; i < resolved.size(); i++) {
+                resolved.get(i).answerText.complete(answerTexts.get(i));
+            }
+        } catch (UncommittedAnswersException e) {
+            // The answers of the teams that were written are committed, so answering them
+            // again would count them twice
+            log.warn("Answers of teams {} failed, answering them one by one", e.getUncommittedTeamIds(), e);
+            for (int i = 0; i < resolved.size(); i++) {
+                if (e.isCommitted(i)) {
+                    resolved.get(i).answerText.complete(e.getAnswerTexts().get(i));
+                } else {
+                    answerOneByOne(resolved.get(i), answers.get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            // A single unknown user or question rejects the whole batch before any team is
+            // written, so the answers are retried one by one to answer every valid one
+            log.warn("Batch of [{}] answers failed, answering them one by one", resolved.size(), e);
+            for (int i = 0; i < resolved.size(); i++) {
+                answerOneByOne(resolved.get(i), answers.get(i));
+            }
+        }
+    }
+
+    private void answerOneByOne(PendingAnswer pendingAnswer, AnswerDto answer) {
+        try {
+            pendingAnswer.answerText.complete(modelController.answerQuestion(answer.getUserEmail(),
+                    answer.getQuestionId(), answer.getAnswer()));
+        } catch (RuntimeException e) {
+            pendingAnswer.answerText.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
@@ -56,6 +56,9 @@ public class SlackApp {
         @Autowired
         private SlackBlockBuilder slackBlockBuilder;
 
+        @Autowired
+        private SlackAnswerBatcher slackAnswerBatcher;
+
         private static final String USER_SELECT_ACTION_ID = "team_member_select_action";
         private static final String ADD_MEMBER_BUTTON_ACTION_ID = "team_member_add_action";
         private static final String USER_SELECT_BLOCK_ID = "team_member_add_block";
@@ -226,21 +229,34 @@ public class SlackApp {
                         String[] actionIdParts = action.getActionId().split("_");
                         String questionId = actionIdParts[3];
                         String answer = actionIdParts[4];
-                        String answerText = slackMethodHandler.answerQuestion(ctx.getRequestUserId(), Long.parseLong(questionId), answer, ctx.getBotToken());
-                        log.debug("Question [{}] answered with [{}]", questionId, answerText);
                         List<LayoutBlock> blocks = req.getPayload().getMessage().getBlocks();
-                        ListIterator<LayoutBlock> iterator = blocks.listIterator();
-                        boolean found = false;
-                        while (iterator.hasNext() && !found) {
-                                LayoutBlock block = iterator.next();
-                                if (block instanceof ActionsBlock && block.getBlockId().equals(action.getBlockId())) {
-                                        iterator.remove();
-                                        iterator.add(section(section -> section.text(markdownText(mt -> mt.text(
-                                                        "You answered: " + answerText)))));
-                                        found = true;
-                                }
-                        }
-                        ctx.respond(response -> response.blocks(blocks).replaceOriginal(true));
+                        // The answer is applied with the rest of the answers received in the same
+                        // batch, and the message is replaced once it has been answered
+                        slackAnswerBatcher.submit(ctx.getRequestUserId(), Long.parseLong(questionId), answer,
+                                        ctx.getBotToken()).thenAccept(answerText -> {
+                                                log.debug("Question [{}] answered with [{}]", questionId, answerText);
+                                                ListIterator<LayoutBlock> iterator = blocks.listIterator();
+                                                boolean found = false;
+                                                while (iterator.hasNext() && !found) {
+                                                        LayoutBlock block = iterator.next();
+                                                        if (block instanceof ActionsBlock
+                                                                        && block.getBlockId().equals(action.getBlockId())) {
+                                                                iterator.remove();
+                                                                iterator.add(section(section -> section.text(markdownText(
+                                                                                mt -> mt.text("You answered: " + answerText)))));
+                                                                found = true;
+                                                        }
+                                                }
+                                                try {
+                                                        ctx.respond(response -> response.blocks(blocks).replaceOriginal(true));
+                                                } catch (IOException e) {
+                                                        log.error("Error ocurred when trying to update the answered question [{}]",
+                                                                        questionId, e);
+                                                }
+                                        }).exceptionally(e -> {
+                                                log.error("Error ocurred when trying to answer the question [{}]", questionId, e);
+                                                return null;
+                                        });
                         return ctx.ack();
                 });
         }
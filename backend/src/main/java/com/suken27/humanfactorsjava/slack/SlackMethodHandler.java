@@ -3,6 +3,9 @@ package com.suken27.humanfactorsjava.slack;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +47,7 @@ public class SlackMethodHandler {
 
 
     private static final int MAX_RETRIES = 3;
+    private static final int USERS_PAGE_SIZE = 200;
     private static final Duration CACHE_TTL = Duration.ofMinutes(1);
     private volatile Instant lastSync = Instant.EPOCH;
 
@@ -53,6 +57,29 @@ public class SlackMethodHandler {
         return getUserByEmail(email, botToken).getId();
     }
 
+    /**
+     * Resolves the Slack ids of several users with a single snapshot of the
+     * workspace directory, instead of looking them up one by one.
+     *
+     * @param emails   Emails of the users.
+     * @param botToken Slack bot token of the workspace.
+     * @return Slack id of each email found in the workspace.
+     */
+    public Map<String, String> getUserIds(Collection<String> emails, String botToken)
+            throws SlackApiException, IOException {
+        if (!usersStoreByEmail.keySet().containsAll(emails)) {
+            fetchUsers(botToken);
+        }
+        Map<String, String> ids = new HashMap<>();
+        for (String email : emails) {
+            User user = usersStoreByEmail.get(email);
+            if (user != null) {
+                ids.put(email, user.getId());
+            }
+        }
+        return ids;
+    }
+
     public String getUserEmail(String id, String botToken)
             throws UserNotFoundInWorkspaceException, SlackApiException, IOException {
         return getUserById(id, botToken).getProfile().getEmail();
@@ -133,26 +160,36 @@ public class SlackMethodHandler {
         }
 
         MethodsClient client = slack.methods();
+        List<User> members = new ArrayList<>();
+        String cursor = null;
+        do {
+            UsersListResponse resp = fetchUsersPage(client, botToken, cursor);
+            members.addAll(resp.getMembers());
+            cursor = resp.getResponseMetadata() == null ? null : resp.getResponseMetadata().getNextCursor();
+        } while (cursor != null && !cursor.isEmpty());
+
+        usersStoreById.clear();
+        usersStoreByEmail.clear();
+        members.stream()
+            .filter(u -> !u.isDeleted() && !u.isBot() && u.isEmailConfirmed())
+            .forEach(u -> {
+                usersStoreById.put(u.getId(), u);
+                if (u.getProfile() != null && u.getProfile().getEmail() != null) {
+                    usersStoreByEmail.put(u.getProfile().getEmail(), u);
+                }
+            });
+
+        lastSync = Instant.now();
+    }
+
+    private UsersListResponse fetchUsersPage(MethodsClient client, String botToken, String cursor)
+            throws SlackApiException, IOException {
+
         int attempt = 0;
 
         while (attempt < MAX_RETRIES) {
             try {
-                UsersListResponse resp = client.usersList(r -> r.token(botToken));
-
-                usersStoreById.clear();
-                usersStoreByEmail.clear();
-                resp.getMembers().stream()
-                    .filter(u -> !u.isDeleted() && !u.isBot() && u.isEmailConfirmed())
-                    .forEach(u -> {
-                        usersStoreById.put(u.getId(), u);
-                        if (u.getProfile() != null && u.getProfile().getEmail() != null) {
-                            usersStoreByEmail.put(u.getProfile().getEmail(), u);
-                        }
-                    });
-
-                lastSync = Instant.now();
-                return;
-
+                return client.usersList(r -> r.token(botToken).limit(USERS_PAGE_SIZE).cursor(cursor));
             } catch (SlackApiException e) {
                 if ("ratelimited".equals(e.getError())) {
                     int retryAfter = Integer.parseInt(e.getResponse().header("Retry-After"));
@@ -0,0 +1,13 @@
+-- Logins of team managers and members, and the team of the user answering a question.
+-- MySQL has no partial indexes, so the discriminator and the deletion flag follow the email
+-- and deleted members are skipped inside the index. The team id makes the team lookup
+-- index-only. Managers keep their team in managed_team_id, as the column of the members
+-- cannot hold a unique key.
+CREATE INDEX idx_users_email_lookup ON users (email, user_type, deleted, team_id, managed_team_id);
+
+-- Members of a team
+CREATE INDEX idx_users_team_type ON users (team_id, user_type);
+
+-- Superseded by the indexes above
+DROP INDEX idx_users_email ON users;
+DROP INDEX idx_users_team ON users;
@@ -0,0 +1,14 @@
+-- The join tables of lists have no primary key, so the owner's foreign key index still has
+-- to read every row to find the associated ids. These indexes return them from the index.
+
+-- Human factors of the users of a team (loaded with a subselect on the user ids)
+CREATE INDEX idx_users_human_factors_user ON users_human_factors (user_id, human_factors_id);
+
+-- Questions of those human factors
+CREATE INDEX idx_human_factor_questions_owner ON human_factor_questions (human_factor_id, questions_id);
+
+-- Actions of the human factors of a team
+CREATE INDEX idx_team_human_factor_actions_owner ON team_human_factor_actions (team_human_factor_id, actions_id);
+
+-- Answers of a question, used by the answer history and the archival job
+CREATE INDEX idx_question_answers_question ON question_answers (question_id, answers_id);
@@ -2,7 +2,14 @@ package com.suken27.humanfactorsjava.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,4 +58,78 @@ public class HumanFactorFactoryTest {
             }
         }
     }
+
+    @Test
+    void testReloadPublishesNewSnapshot() throws Exception {
+        CatalogSnapshot previous = humanFactorFactory.getCatalog();
+        List<Long> previousIds = previous.getHumanFactorTypes().stream().map(HumanFactorType::getId).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    for (int read = 0; read < 1000; read++) {
+                        assertConsistent(humanFactorFactory.getCatalog());
+                    }
+                }));
+            }
+            CatalogSnapshot reloaded = humanFactorFactory.reload();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+            assertNotSame(previous, reloaded);
+            assertSame(reloaded, humanFactorFactory.getCatalog());
+            assertEquals(previous.getVersion() + 1, reloaded.getVersion());
+            assertEquals(previousIds, reloaded.getHumanFactorTypes().stream().map(HumanFactorType::getId).toList());
+            // Users of the previous snapshot keep a complete catalog
+            assertConsistent(previous);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSnapshotFileRoundTrip() throws Exception {
+        CatalogSnapshot catalog = humanFactorFactory.getCatalog();
+        Path file = Files.createTempFile("catalog", ".bin");
+        try {
+            CatalogSnapshotFile.write(catalog, "checksum", file);
+            assertNull(CatalogSnapshotFile.read(file, "otherChecksum"));
+            CatalogSnapshot read = new CatalogSnapshot(1, CatalogSnapshotFile.read(file, "checksum"));
+            assertConsistent(read);
+            assertEquals(catalog.getHumanFactorTypes().size(), read.getHumanFactorTypes().size());
+            for (HumanFactorType expected : catalog.getHumanFactorTypes()) {
+                HumanFactorType actual = read.getHumanFactorType(expected.getId());
+                assertEquals(expected.getTitle(), actual.getTitle());
+                assertEquals(expected.getCluster(), actual.getCluster());
+                assertEquals(ids(expected.getAffectsTo()), ids(actual.getAffectsTo()));
+                assertEquals(expected.getQuestionTypes().stream().map(QuestionType::getQuestionText).toList(),
+                        actual.getQuestionTypes().stream().map(QuestionType::getQuestionText).toList());
+                assertEquals(expected.getQuestionTypes().stream().map(QuestionType::getTypeOfAnswer).toList(),
+                        actual.getQuestionTypes().stream().map(QuestionType::getTypeOfAnswer).toList());
+                assertEquals(expected.getActionTypes().stream().map(ActionType::getTitle).toList(),
+                        actual.getActionTypes().stream().map(ActionType::getTitle).toList());
+            }
+            // A truncated file is ignored instead of loading a partial catalog
+            Files.write(file, Arrays.copyOf(Files.readAllBytes(file), (int) Files.size(file) / 2));
+            assertNull(CatalogSnapshotFile.read(file, "checksum"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private List<Long> ids(List<HumanFactorType> humanFactorTypes) {
+        return humanFactorTypes.stream().map(HumanFactorType::getId).toList();
+    }
+
+    private void assertConsistent(CatalogSnapshot catalog) {
+        assertEquals(catalog.getHumanFactorTypes().size(), catalog.getHumanFactorGraph().size());
+        for (HumanFactorType humanFactorType : catalog.getHumanFactorTypes()) {
+            assertSame(humanFactorType, catalog.getHumanFactorType(humanFactorType.getId()));
+            for (HumanFactorType dependency : humanFactorType.getAffectsTo()) {
+                assertSame(dependency, catalog.getHumanFactorType(dependency.getId()));
+            }
+        }
+    }
+
 }
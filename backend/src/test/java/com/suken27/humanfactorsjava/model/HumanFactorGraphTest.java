@@ -0,0 +1,310 @@
+package com.suken27.humanfactorsjava.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import lombok.extern.slf4j.Slf4j;
+
+@SpringBootTest
+@Slf4j
+public class HumanFactorGraphTest {
+
+    private static final int SYNTHETIC_CATALOG_SIZE = 500;
+    private static final int BENCHMARK_ITERATIONS = 2000;
+
+    /**
+     * Scores held in plain arrays, so the propagation can be compared against the
+     * recursive implementation it replaced.
+     */
+    private static class ArrayScores implements HumanFactorGraph.ScoreAccessor {
+
+        private final double[] ownScores;
+        private final double[] scores;
+
+        ArrayScores(double[] ownScores) {
+            this.ownScores = ownScores;
+            this.scores = new double[ownScores.length];
+            Arrays.fill(scores, Double.NaN);
+        }
+
+        @Override
+        public double ownScore(int factor) {
+            return ownScores[factor];
+        }
+
+        @Override
+        public double score(int factor) {
+            return scores[factor];
+        }
+
+        @Override
+        public void setScore(int factor, double score) {
+            scores[factor] = score;
+        }
+
+    }
+
+    @Test
+    void testSeededCatalogOrder(@Autowired HumanFactorFactory humanFactorFactory) {
+        List<HumanFactorType> humanFactorTypes = humanFactorFactory.getAll();
+        HumanFactorGraph graph = humanFactorFactory.getHumanFactorGraph();
+        assertSame(graph, humanFactorFactory.getHumanFactorGraph());
+        assertEquals(humanFactorTypes.size(), graph.size());
+        int[] order = graph.getTopologicalOrder();
+        int[] position = new int[order.length];
+        BitSet seen = new BitSet();
+        for (int i = 0; i < order.length; i++) {
+            assertFalse(seen.get(order[i]));
+            seen.set(order[i]);
+            position[order[i]] = i;
+        }
+        List<Long> cyclic = new ArrayList<>();
+        graph.getCycles().forEach(cyclic::addAll);
+        log.info("Seeded catalog dependency cycles: {}", graph.getCycles());
+        for (HumanFactorType humanFactorType : humanFactorTypes) {
+            int source = graph.indexOf(humanFactorType.getId());
+            for (HumanFactorType affected : humanFactorType.getAffectsTo()) {
+                int target = graph.indexOf(affected.getId());
+                if (!cyclic.contains(humanFactorType.getId()) || !cyclic.contains(affected.getId())) {
+                    assertTrue(position[source] < position[target]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSeededCatalogPropagation(@Autowired HumanFactorFactory humanFactorFactory) {
+        HumanFactorGraph graph = humanFactorFactory.getHumanFactorGraph();
+        Random random = new Random(27);
+        double[] ownScores = new double[graph.size()];
+        for (int i = 0; i < ownScores.length; i++) {
+            ownScores[i] = random.nextDouble();
+        }
+        ArrayScores scores = new ArrayScores(ownScores);
+        BitSet all = new BitSet();
+        all.set(0, graph.size());
+        // Every factor is recalculated once, even those in dependency cycles
+        assertEquals(graph.size(), graph.propagate(all, scores));
+        long start = System.nanoTime();
+        int recalculated = 0;
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            recalculated += graph.propagate(i % graph.size(), scores);
+        }
+        long elapsed = System.nanoTime() - start;
+        log.info("Seeded catalog: {} propagations, {} recalculations, {} ns per propagation",
+                BENCHMARK_ITERATIONS, recalculated, elapsed / BENCHMARK_ITERATIONS);
+    }
+
+    @Test
+    void testRestrictTo() {
+        // 0 -> 1 -> 2 and 0 -> 2, restricted to the factors 0 and 2
+        HumanFactorGraph graph = new HumanFactorGraph(typeIds(3), new int[][] { { 1, 2 }, { 2 }, {} });
+        assertSame(graph, graph.restrictTo(typeIds(3)));
+        HumanFactorGraph restricted = graph.restrictTo(new long[] { 1000L, 1002L });
+        assertEquals(2, restricted.size());
+        assertArrayEquals(new int[] { 1 }, restricted.getAffectsTo(0));
+        assertArrayEquals(new int[] { 0 }, restricted.getAffectedBy(1));
+        assertEquals(-1, restricted.indexOf(1001L));
+    }
+
+    @Test
+    void testPropagationMatchesFullRecalculation() {
+        Random random = new Random(27);
+        int[][] affectsTo = randomDag(SYNTHETIC_CATALOG_SIZE, 3, random);
+        HumanFactorGraph graph = new HumanFactorGraph(typeIds(SYNTHETIC_CATALOG_SIZE), affectsTo);
+        assertTrue(graph.getCycles().isEmpty());
+        double[] ownScores = new double[SYNTHETIC_CATALOG_SIZE];
+        for (int i = 0; i < ownScores.length; i++) {
+            ownScores[i] = random.nextDouble();
+        }
+        ArrayScores scores = new ArrayScores(ownScores);
+        BitSet all = new BitSet();
+        all.set(0, SYNTHETIC_CATALOG_SIZE);
+        graph.propagate(all, scores);
+        // Changes a single factor and checks the incremental result against a full
+        // recalculation
+        ownScores[0] = 0.0;
+        graph.propagate(0, scores);
+        double[] expected = fullRecalculation(affectsTo, ownScores);
+        for (int i = 0; i < SYNTHETIC_CATALOG_SIZE; i++) {
+            assertEquals(expected[i], scores.score(i), 1e-9);
+        }
+    }
+
+    @Test
+    void testCyclePropagationReachesFixedPoint() {
+        // 0 -> 1 -> 2 -> 3 -> 1 and 3 -> 4, with the cycle listed in a different order
+        // in the second graph
+        int[][] affectsTo = { { 1 }, { 2 }, { 3 }, { 1, 4 }, {} };
+        int[] permutation = { 0, 3, 1, 2, 4 };
+        int[][] permutedAffectsTo = new int[affectsTo.length][];
+        for (int factor = 0; factor < affectsTo.length; factor++) {
+            permutedAffectsTo[permutation[factor]] = Arrays.stream(affectsTo[factor]).map(t -> permutation[t])
+                    .toArray();
+        }
+        HumanFactorGraph graph = new HumanFactorGraph(typeIds(affectsTo.length), affectsTo);
+        HumanFactorGraph permutedGraph = new HumanFactorGraph(typeIds(affectsTo.length), permutedAffectsTo);
+        assertEquals(1, graph.getCycles().size());
+        double[] ownScores = { 0.2, 0.9, 0.1, 0.5, 0.7 };
+        double[] permutedOwnScores = new double[ownScores.length];
+        for (int factor = 0; factor < ownScores.length; factor++) {
+            permutedOwnScores[permutation[factor]] = ownScores[factor];
+        }
+        ArrayScores scores = new ArrayScores(ownScores);
+        ArrayScores permutedScores = new ArrayScores(permutedOwnScores);
+        BitSet all = new BitSet();
+        all.set(0, affectsTo.length);
+        assertEquals(affectsTo.length, graph.propagate(all, scores));
+        permutedGraph.propagate(all, permutedScores);
+        int[][] affectedBy = reverse(affectsTo);
+        for (int factor = 0; factor < affectsTo.length; factor++) {
+            // Every score is the average of its own score and its dependencies' scores
+            double average = ownScores[factor];
+            for (int dependency : affectedBy[factor]) {
+                average += scores.score(dependency);
+            }
+            assertEquals(average / (affectedBy[factor].length + 1), scores.score(factor), 1e-9);
+            assertEquals(scores.score(factor), permutedScores.score(permutation[factor]), 1e-9);
+        }
+        // The previous scores of the cycle do not change the result
+        double expected = scores.score(4);
+        scores.setScore(2, 0.0);
+        graph.propagate(0, scores);
+        assertEquals(expected, scores.score(4), 1e-9);
+    }
+
+    @Test
+    void testBenchmarkAgainstRecursivePropagation() {
+        // The recursive propagation only terminates on catalogs without undirected
+        // cycles, so the synthetic catalog is a tree
+        Random random = new Random(27);
+        int[][] affectsTo = randomTree(SYNTHETIC_CATALOG_SIZE, random);
+        HumanFactorGraph graph = new HumanFactorGraph(typeIds(SYNTHETIC_CATALOG_SIZE), affectsTo);
+        double[] ownScores = new double[SYNTHETIC_CATALOG_SIZE];
+        for (int i = 0; i < ownScores.length; i++) {
+            ownScores[i] = random.nextDouble();
+        }
+        int[][] affectedBy = reverse(affectsTo);
+        ArrayScores scores = new ArrayScores(ownScores);
+        int[] recursiveCalls = new int[1];
+        for (int warmup = 0; warmup < BENCHMARK_ITERATIONS; warmup++) {
+            recursivePropagation(warmup % SYNTHETIC_CATALOG_SIZE, -1, affectsTo, affectedBy, scores, recursiveCalls);
+            graph.propagate(warmup % SYNTHETIC_CATALOG_SIZE, scores);
+        }
+        recursiveCalls[0] = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            recursivePropagation(i % SYNTHETIC_CATALOG_SIZE, -1, affectsTo, affectedBy, scores, recursiveCalls);
+        }
+        long recursiveTime = System.nanoTime() - start;
+        int recalculated = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            recalculated += graph.propagate(i % SYNTHETIC_CATALOG_SIZE, scores);
+        }
+        long graphTime = System.nanoTime() - start;
+        log.info("Synthetic catalog ({} factors): recursive {} recalculations in {} ns, graph {} recalculations in {} ns",
+                SYNTHETIC_CATALOG_SIZE, recursiveCalls[0], recursiveTime, recalculated, graphTime);
+        assertTrue(recalculated <= recursiveCalls[0]);
+    }
+
+    /**
+     * Propagation previously implemented by Team, kept as the benchmark baseline.
+     */
+    private double recursivePropagation(int factor, int origin, int[][] affectsTo, int[][] affectedBy,
+            ArrayScores scores, int[] calls) {
+        calls[0]++;
+        double average = scores.ownScore(factor);
+        if (Double.isNaN(average)) {
+            return Double.NaN;
+        }
+        int counter = 1;
+        for (int dependency : affectedBy[factor]) {
+            if (dependency != origin) {
+                double dependencyScore = recursivePropagation(dependency, factor, affectsTo, affectedBy, scores, calls);
+                if (!Double.isNaN(dependencyScore)) {
+                    average += dependencyScore;
+                    counter++;
+                }
+            }
+        }
+        average /= counter;
+        scores.setScore(factor, average);
+        for (int affected : affectsTo[factor]) {
+            if (affected != origin) {
+                recursivePropagation(affected, factor, affectsTo, affectedBy, scores, calls);
+            }
+        }
+        return average;
+    }
+
+    private double[] fullRecalculation(int[][] affectsTo, double[] ownScores) {
+        int[][] affectedBy = reverse(affectsTo);
+        double[] scores = new double[affectsTo.length];
+        // Factors only depend on factors with a lower index in the synthetic catalog
+        for (int factor = 0; factor < affectsTo.length; factor++) {
+            double average = ownScores[factor];
+            for (int dependency : affectedBy[factor]) {
+                average += scores[dependency];
+            }
+            scores[factor] = average / (affectedBy[factor].length + 1);
+        }
+        return scores;
+    }
+
+    private static int[][] randomDag(int size, int maxDependants, Random random) {
+        int[][] affectsTo = new int[size][];
+        for (int factor = 0; factor < size; factor++) {
+            int remaining = size - factor - 1;
+            if (remaining == 0) {
+                affectsTo[factor] = new int[0];
+                continue;
+            }
+            affectsTo[factor] = random.ints(Math.min(remaining, random.nextInt(maxDependants + 1)), factor + 1, size)
+                    .distinct().toArray();
+        }
+        return affectsTo;
+    }
+
+    private static int[][] randomTree(int size, Random random) {
+        List<List<Integer>> children = new ArrayList<>();
+        for (int factor = 0; factor < size; factor++) {
+            children.add(new ArrayList<>());
+            if (factor > 0) {
+                children.get(random.nextInt(factor)).add(factor);
+            }
+        }
+        return children.stream().map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    private static int[][] reverse(int[][] affectsTo) {
+        List<List<Integer>> affectedBy = new ArrayList<>();
+        for (int factor = 0; factor < affectsTo.length; factor++) {
+            affectedBy.add(new ArrayList<>());
+        }
+        for (int factor = 0; factor < affectsTo.length; factor++) {
+            for (int affected : affectsTo[factor]) {
+                affectedBy.get(affected).add(factor);
+            }
+        }
+        return affectedBy.stream().map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    private static long[] typeIds(int size) {
+        long[] typeIds = new long[size];
+        Arrays.setAll(typeIds, i -> 1000L + i);
+        return typeIds;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.suken27.humanfactorsjava.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class HumanFactorTest {
+
+    private static final int QUESTIONS = 6;
+    private static final int ANSWERS = 50;
+
+    @Test
+    void testOldestQuestionFollowsAnswers() {
+        Random random = new Random(27);
+        HumanFactorType humanFactorType = new HumanFactorType();
+        List<QuestionType> questionTypes = new ArrayList<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            QuestionType questionType = new QuestionType();
+            questionType.setTypeOfAnswer(TypeOfAnswer.VALUE_RANGE);
+            questionTypes.add(questionType);
+        }
+        humanFactorType.setQuestionTypes(questionTypes);
+        HumanFactor humanFactor = new HumanFactor(humanFactorType);
+        List<Question> questions = humanFactor.getQuestions();
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.get(i).setId((long) i);
+            questions.get(i).setLastAnswerDateTime(LocalDate.now().minusDays(ANSWERS + 1L + random.nextInt(20)));
+        }
+        for (int i = 0; i < ANSWERS; i++) {
+            assertSame(oldestQuestion(questions), humanFactor.getOldestQuestion());
+            Question question = random.nextBoolean() ? humanFactor.getOldestQuestion()
+                    : questions.get(random.nextInt(QUESTIONS));
+            humanFactor.answerQuestion(question.getId(), 0.5);
+            // Spreads the answers over several days
+            question.setLastAnswerDateTime(LocalDate.now().minusDays(ANSWERS - i));
+        }
+    }
+
+    private Question oldestQuestion(List<Question> questions) {
+        Question oldest = questions.get(0);
+        for (Question question : questions) {
+            if (question.getLastAnswerDateTime().isBefore(oldest.getLastAnswerDateTime())) {
+                oldest = question;
+            }
+        }
+        return oldest;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.suken27.humanfactorsjava.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class RecommendedActionIndexTest {
+
+    private static final int FACTORS = 60;
+    private static final int ACTIONS = 40;
+    private static final int UPDATES = 500;
+
+    @Test
+    void testRankingMatchesFullRecalculation() {
+        Random random = new Random(27);
+        List<Action> actions = new ArrayList<>();
+        for (int i = 0; i < ACTIONS; i++) {
+            Action action = new Action(new ActionType());
+            action.setId((long) i);
+            actions.add(action);
+        }
+        TeamHumanFactor[] humanFactors = new TeamHumanFactor[FACTORS];
+        for (int factor = 0; factor < FACTORS; factor++) {
+            humanFactors[factor] = new TeamHumanFactor(new HumanFactorType());
+            List<Action> factorActions = new ArrayList<>();
+            random.ints(random.nextInt(4), 0, ACTIONS).distinct().forEach(i -> factorActions.add(actions.get(i)));
+            humanFactors[factor].setActions(factorActions);
+        }
+        RecommendedActionIndex index = new RecommendedActionIndex(humanFactors);
+        assertTrue(index.getTop(ACTIONS).isEmpty());
+        for (int i = 0; i < UPDATES; i++) {
+            int factor = random.nextInt(FACTORS);
+            // Some scores are unset again, so actions also leave the ranking
+            Double score = random.nextInt(10) == 0 ? null : Math.round(random.nextDouble() * 8) / 8.0;
+            humanFactors[factor].setScore(score);
+            index.update(factor, score == null ? Double.NaN : score);
+            assertRanking(fullRecalculation(humanFactors), index.getTop(ACTIONS));
+        }
+        assertEquals(0, index.synchronize(humanFactors));
+        Map<Action, Double> top = index.getTop(5);
+        assertTrue(top.size() <= 5);
+        assertEquals(new ArrayList<>(index.getTop(ACTIONS).keySet()).subList(0, top.size()),
+                new ArrayList<>(top.keySet()));
+    }
+
+    private void assertRanking(Map<Action, Double> expected, Map<Action, Double> ranking) {
+        assertEquals(expected, ranking);
+        double previous = Double.POSITIVE_INFINITY;
+        long previousId = -1;
+        for (Map.Entry<Action, Double> entry : ranking.entrySet()) {
+            assertTrue(entry.getValue() < previous
+                    || (entry.getValue() == previous && entry.getKey().getId() > previousId));
+            previous = entry.getValue();
+            previousId = entry.getKey().getId();
+        }
+    }
+
+    private Map<Action, Double> fullRecalculation(TeamHumanFactor[] humanFactors) {
+        Map<Action, Double> recommendations = new HashMap<>();
+        for (TeamHumanFactor humanFactor : humanFactors) {
+            if (humanFactor.getScore() != null) {
+                for (Action action : humanFactor.getActions()) {
+                    recommendations.merge(action, 1 - humanFactor.getScore(), Math::max);
+                }
+            }
+        }
+        return recommendations;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.suken27.humanfactorsjava.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class ScoreMatrixTest {
+
+    private static final long[] TYPE_IDS = { 3L, 7L, 11L };
+
+    @Test
+    void testRoundTripAfterColumnsGrow() {
+        ScoreMatrix matrix = new ScoreMatrix(TYPE_IDS, 1);
+        matrix.set(0, 0, 0.25);
+        // Grows to the required size when it is more than double, and doubles
+        // otherwise
+        matrix.set(1, 4, 1.0);
+        assertEquals(5, matrix.getColumns());
+        matrix.set(2, 5, 0.0);
+        assertEquals(10, matrix.getColumns());
+        ScoreMatrix read = ScoreMatrix.fromBytes(matrix.toBytes());
+        assertEquals(matrix, read);
+        assertEquals(matrix.hashCode(), read.hashCode());
+        assertTrue(read.hasRows(TYPE_IDS));
+        assertEquals(0.25, read.get(0, 0));
+        assertEquals(1.0, read.get(1, 4));
+        assertEquals(0.0, read.get(2, 5));
+        // Cells never set stay unmeasured, as do the columns beyond the matrix
+        assertTrue(Double.isNaN(read.get(0, 4)));
+        assertTrue(Double.isNaN(read.get(1, 0)));
+        assertTrue(Double.isNaN(read.get(2, 100)));
+        // The matrix read keeps growing as the original one
+        read.set(0, 10, 0.5);
+        assertEquals(20, read.getColumns());
+        assertEquals(0.25, read.get(0, 0));
+        assertEquals(0.0, read.get(2, 5));
+        assertEquals(0.5, read.get(0, 10));
+        assertEquals(read, ScoreMatrix.fromBytes(read.toBytes()));
+    }
+
+    @Test
+    void testRoundTripAfterRowsChange() {
+        ScoreMatrix previous = new ScoreMatrix(TYPE_IDS, 2);
+        previous.set(1, 1, 0.75);
+        // A catalog with another human factor type gets a new matrix with more rows
+        long[] typeIds = { 3L, 5L, 7L, 11L };
+        ScoreMatrix matrix = new ScoreMatrix(typeIds, previous.getColumns());
+        matrix.set(2, 1, previous.get(1, 1));
+        matrix.set(1, 3, Double.NaN);
+        ScoreMatrix read = ScoreMatrix.fromBytes(matrix.toBytes());
+        assertEquals(matrix, read);
+        assertEquals(4, read.getRows());
+        assertTrue(read.hasRows(typeIds));
+        assertFalse(read.hasRows(TYPE_IDS));
+        assertEquals(0.75, read.get(2, 1));
+        assertTrue(Double.isNaN(read.get(1, 3)));
+    }
+
+    @Test
+    void testEmptyMatrixRoundTrip() {
+        ScoreMatrix matrix = new ScoreMatrix(new long[0], 0);
+        assertEquals(matrix, ScoreMatrix.fromBytes(matrix.toBytes()));
+    }
+
+    @Test
+    void testUnsupportedFormatVersionIsRejected() {
+        byte[] bytes = new ScoreMatrix(TYPE_IDS, 1).toBytes();
+        bytes[3]++;
+        assertThrows(IllegalArgumentException.class, () -> ScoreMatrix.fromBytes(bytes));
+    }
+
+    @Test
+    void testConverterRoundTrip() {
+        ScoreMatrixConverter converter = new ScoreMatrixConverter();
+        ScoreMatrix matrix = new ScoreMatrix(TYPE_IDS, 2);
+        matrix.set(2, 3, 0.5);
+        assertEquals(matrix, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(matrix)));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+}
@@ -3,6 +3,8 @@ package com.suken27.humanfactorsjava.model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -16,6 +18,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 public class TeamTest {
 
     private static Team team;
+    private static long nextQuestionId = 1;
 
     @BeforeAll
     static void setUp(@Autowired HumanFactorFactory humanFactorFactory) {
@@ -60,4 +63,229 @@ public class TeamTest {
         assertEquals(30, zonedQuestionSendingTime.getMinute());
     }
 
+    @Test
+    void testUserScoreAggregatesMatchFullScan(@Autowired HumanFactorFactory humanFactorFactory) {
+        TeamManager teamManager = new TeamManager(humanFactorFactory);
+        teamManager.setEmail("manager@aggregates.com");
+        Team team = teamManager.getTeam();
+        TeamMember firstMember = new TeamMember(humanFactorFactory);
+        firstMember.setEmail("first@aggregates.com");
+        team.addMember(firstMember);
+        TeamMember secondMember = new TeamMember(humanFactorFactory);
+        secondMember.setEmail("second@aggregates.com");
+        team.addMember(secondMember);
+        setQuestionIds(teamManager, firstMember, secondMember);
+        double answer = 0.0;
+        for (User user : List.of(teamManager, firstMember, secondMember)) {
+            for (HumanFactor humanFactor : user.getHumanFactors()) {
+                for (Question question : humanFactor.getQuestions()) {
+                    team.answerQuestion(user.getEmail(), question, answer);
+                    answer = (answer + 0.25) % 1.25;
+                }
+            }
+        }
+        assertTrue(team.verifyUserScoreAggregates());
+        assertTrue(team.getHumanFactors().values().stream().anyMatch(humanFactor -> humanFactor.getScore() != null));
+        team.removeMember(firstMember);
+        assertTrue(team.verifyUserScoreAggregates());
+    }
+
+    @Test
+    void testLazyScoringMatchesEagerScoring(@Autowired HumanFactorFactory humanFactorFactory) {
+        assertScoresEqual(answerEveryQuestion(humanFactorFactory.getCatalog(), false),
+                answerEveryQuestion(humanFactorFactory.getCatalog(), true));
+    }
+
+    @Test
+    void testLazyScoringMatchesEagerScoringWithCycles() {
+        CatalogSnapshot catalog = new CatalogSnapshot(1, cyclicCatalog());
+        assertFalse(catalog.getHumanFactorGraph().getCycles().isEmpty());
+        Map<Long, Double> eagerScores = answerEveryQuestion(catalog, false);
+        assertTrue(eagerScores.values().stream().allMatch(score -> score != null));
+        assertScoresEqual(eagerScores, answerEveryQuestion(catalog, true));
+    }
+
+    @Test
+    void testRecalculateScoresFromUserScores(@Autowired HumanFactorFactory humanFactorFactory) {
+        TeamManager teamManager = new TeamManager(humanFactorFactory);
+        teamManager.setEmail("manager@recalculate.com");
+        Team team = teamManager.getTeam();
+        setQuestionIds(teamManager);
+        double answer = 0.0;
+        for (HumanFactor humanFactor : teamManager.getHumanFactors()) {
+            for (Question question : humanFactor.getQuestions()) {
+                team.answerQuestion(teamManager.getEmail(), question, answer);
+                answer = (answer + 0.25) % 1.25;
+            }
+        }
+        // Scores are cleared so the human factors in dependency cycles do not depend
+        // on the previous scores
+        team.getHumanFactors().values().forEach(humanFactor -> humanFactor.setScore(null));
+        team.recalculateScores();
+        Map<Long, Double> scores = new HashMap<>();
+        for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+            scores.put(humanFactor.getType().getId(), humanFactor.getScore());
+            humanFactor.setScore(null);
+        }
+        // The score matrix is rebuilt from the users' human factors
+        team.setHumanFactorUserScores(null);
+        team.recalculateScores();
+        for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+            assertEquals(scores.get(humanFactor.getType().getId()), humanFactor.getScore());
+        }
+        assertTrue(team.verifyUserScoreAggregates());
+    }
+
+    @Test
+    void testMemberIndexFollowsMembership(@Autowired HumanFactorFactory humanFactorFactory) {
+        TeamManager teamManager = new TeamManager(humanFactorFactory);
+        teamManager.setEmail("manager@index.com");
+        Team team = teamManager.getTeam();
+        TeamMember teamMember = new TeamMember(humanFactorFactory);
+        teamMember.setEmail("member@index.com");
+        setQuestionIds(teamMember);
+        assertFalse(team.isMember("member@index.com"));
+        team.addMember(teamMember);
+        assertTrue(team.isMember("member@index.com"));
+        assertFalse(team.isMember("manager@index.com"));
+        Question question = teamMember.getHumanFactors().stream().filter(HumanFactor::canBeMeasured).findFirst()
+                .orElseThrow().getQuestions().get(0);
+        team.answerQuestion("member@index.com", question, 0.5);
+        assertTrue(question.isAnswered());
+        team.removeMember(teamMember);
+        assertFalse(team.isMember("member@index.com"));
+        assertTrue(team.getMembers().isEmpty());
+        assertTrue(team.verifyUserScoreAggregates());
+    }
+
+    @Test
+    void testAddMembersMatchesAddMember(@Autowired HumanFactorFactory humanFactorFactory) {
+        assertEquals(addMembers(humanFactorFactory, false), addMembers(humanFactorFactory, true));
+    }
+
+    private Map<Long, Double> addMembers(HumanFactorFactory humanFactorFactory, boolean bulk) {
+        TeamManager teamManager = new TeamManager(humanFactorFactory);
+        teamManager.setEmail("manager@bulk.com");
+        Team team = teamManager.getTeam();
+        setQuestionIds(teamManager);
+        double answer = 0.0;
+        for (HumanFactor humanFactor : teamManager.getHumanFactors()) {
+            for (Question question : humanFactor.getQuestions()) {
+                team.answerQuestion(teamManager.getEmail(), question, answer);
+                answer = (answer + 0.25) % 1.25;
+            }
+        }
+        List<TeamMember> newMembers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TeamMember teamMember = new TeamMember(humanFactorFactory);
+            teamMember.setEmail("member" + i + "@bulk.com");
+            newMembers.add(teamMember);
+        }
+        if (bulk) {
+            team.addMembers(newMembers);
+        } else {
+            newMembers.forEach(team::addMember);
+        }
+        assertEquals(3, newMembers.stream().map(TeamMember::getScoreSlot).distinct().count());
+        assertTrue(newMembers.stream().allMatch(teamMember -> team.isMember(teamMember.getEmail())));
+        assertTrue(team.verifyUserScoreAggregates());
+        Map<Long, Double> scores = new HashMap<>();
+        for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+            scores.put(humanFactor.getType().getId(), humanFactor.getScore());
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> answerEveryQuestion(CatalogSnapshot catalog, boolean lazyScoring) {
+        TeamManager teamManager = new TeamManager(catalog);
+        teamManager.setEmail("manager@lazy.com");
+        Team team = teamManager.getTeam();
+        team.setLazyScoring(lazyScoring);
+        TeamMember teamMember = new TeamMember(catalog);
+        teamMember.setEmail("member@lazy.com");
+        team.addMember(teamMember);
+        setQuestionIds(teamManager, teamMember);
+        double answer = 0.0;
+        for (User user : List.of(teamManager, teamMember)) {
+            for (HumanFactor humanFactor : user.getHumanFactors()) {
+                for (Question question : humanFactor.getQuestions()) {
+                    team.answerQuestion(user.getEmail(), question, answer);
+                    answer = (answer + 0.25) % 1.25;
+                }
+            }
+        }
+        if (lazyScoring) {
+            assertTrue(team.getHumanFactors().values().stream().allMatch(humanFactor -> humanFactor.getScore() == null));
+            assertTrue(team.materializeScores());
+            // Scores are only recalculated once per version
+            assertFalse(team.materializeScores());
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+            scores.put(humanFactor.getType().getId(), humanFactor.getScore());
+        }
+        return scores;
+    }
+
+    /**
+     * Scores calculated in a different order are only equal up to rounding.
+     */
+    private static void assertScoresEqual(Map<Long, Double> expected, Map<Long, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Entry<Long, Double> entry : expected.entrySet()) {
+            if (entry.getValue() == null) {
+                assertNull(actual.get(entry.getKey()));
+            } else {
+                assertEquals(entry.getValue(), actual.get(entry.getKey()), 1e-9, "Human factor " + entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * @return Catalog where 1 affects 2, 2 affects 3, 3 affects 1 and 4, and 4
+     *         affects 3, so it contains a dependency cycle of the factors 1, 2, 3
+     *         and 4.
+     */
+    private static List<HumanFactorType> cyclicCatalog() {
+        List<HumanFactorType> humanFactorTypes = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            HumanFactorType humanFactorType = new HumanFactorType();
+            humanFactorType.setId(id);
+            humanFactorType.setTitle("Human factor " + id);
+            humanFactorType.setCluster(Cluster.values()[0]);
+            List<QuestionType> questionTypes = new ArrayList<>();
+            for (long question = 0; question < id; question++) {
+                QuestionType questionType = new QuestionType();
+                questionType.setId(id * 10 + question);
+                questionType.setQuestionText("Question " + question);
+                questionType.setTypeOfAnswer(TypeOfAnswer.VALUE_RANGE);
+                questionTypes.add(questionType);
+            }
+            humanFactorType.setQuestionTypes(questionTypes);
+            humanFactorType.setAffectsTo(new ArrayList<>());
+            humanFactorType.setActionTypes(new ArrayList<>());
+            humanFactorType.setBibliographicSource(new ArrayList<>());
+            humanFactorTypes.add(humanFactorType);
+        }
+        humanFactorTypes.get(0).getAffectsTo().add(humanFactorTypes.get(1));
+        humanFactorTypes.get(1).getAffectsTo().add(humanFactorTypes.get(2));
+        humanFactorTypes.get(2).getAffectsTo().addAll(List.of(humanFactorTypes.get(0), humanFactorTypes.get(3)));
+        humanFactorTypes.get(3).getAffectsTo().add(humanFactorTypes.get(2));
+        return humanFactorTypes;
+    }
+
+    /**
+     * Answers find their questions by id, so the questions of users that are not
+     * persisted need one.
+     */
+    private static void setQuestionIds(User... users) {
+        for (User user : users) {
+            for (HumanFactor humanFactor : user.getHumanFactors()) {
+                for (Question question : humanFactor.getQuestions()) {
+                    question.setId(nextQuestionId++);
+                }
+            }
+        }
+    }
+
 }
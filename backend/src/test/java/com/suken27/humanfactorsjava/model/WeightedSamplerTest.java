@@ -0,0 +1,135 @@
+package com.suken27.humanfactorsjava.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import lombok.extern.slf4j.Slf4j;
+
+@SpringBootTest
+@Slf4j
+public class WeightedSamplerTest {
+
+    private static final int SAMPLES = 200000;
+    /**
+     * Chi-squared critical value for 19 degrees of freedom and a significance of
+     * 0.001.
+     */
+    private static final double CHI_SQUARED_CRITICAL_VALUE = 43.82;
+    private static final int BENCHMARK_ITEMS = 50;
+    private static final int BENCHMARK_AMOUNT = 10;
+    private static final int BENCHMARK_ITERATIONS = 20000;
+
+    @Test
+    void testMatchesSequentialSelectionDistribution() {
+        // Every ordered pair of the first two draws is compared against the exact
+        // probability of drawing them one by one without replacement
+        double[] weights = { 1, 2, 3, 4, 10 };
+        List<Integer> items = IntStream.range(0, weights.length).boxed().toList();
+        double totalWeight = 20;
+        Random random = new Random(27);
+        long[][] observed = new long[weights.length][weights.length];
+        for (int i = 0; i < SAMPLES; i++) {
+            List<Integer> sample = WeightedSampler.sample(items, weights, 2, random);
+            observed[sample.get(0)][sample.get(1)]++;
+        }
+        double chiSquared = 0.0;
+        for (int first = 0; first < weights.length; first++) {
+            for (int second = 0; second < weights.length; second++) {
+                if (first != second) {
+                    double expected = SAMPLES * weights[first] / totalWeight
+                            * weights[second] / (totalWeight - weights[first]);
+                    chiSquared += Math.pow(observed[first][second] - expected, 2) / expected;
+                }
+            }
+        }
+        log.info("Weighted sampling chi-squared statistic: {}", chiSquared);
+        assertTrue(chiSquared < CHI_SQUARED_CRITICAL_VALUE);
+    }
+
+    @Test
+    void testSampleSize() {
+        Random random = new Random(27);
+        List<String> items = List.of("a", "b", "c");
+        assertEquals(3, WeightedSampler.sample(items, new double[] { 1, 1, 1 }, 10, random).size());
+        assertTrue(WeightedSampler.sample(items, new double[] { 1, 1, 1 }, 0, random).isEmpty());
+        // Items without weight are only selected when nothing else is left
+        assertEquals(List.of("a", "c"), WeightedSampler.sample(items, new double[] { 1, 0, 1 }, 2, random).stream()
+                .sorted().toList());
+    }
+
+    @Test
+    void testBenchmarkAgainstLinearSelection() {
+        Random random = new Random(27);
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_ITEMS; i++) {
+            Question question = new Question(new QuestionType());
+            question.setLastAnswerDateTime(LocalDate.now().minusDays(random.nextInt(30)));
+            questions.add(question);
+        }
+        for (int warmup = 0; warmup < BENCHMARK_ITERATIONS; warmup++) {
+            linearSelection(questions, BENCHMARK_AMOUNT);
+            exponentialKeySelection(questions, BENCHMARK_AMOUNT, random);
+        }
+        long start = System.nanoTime();
+        int selected = 0;
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            selected += linearSelection(questions, BENCHMARK_AMOUNT).size();
+        }
+        long linearTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            selected -= exponentialKeySelection(questions, BENCHMARK_AMOUNT, random).size();
+        }
+        long samplerTime = System.nanoTime() - start;
+        log.info("Selecting {} of {} questions: linear {} ns, exponential keys {} ns per selection", BENCHMARK_AMOUNT,
+                BENCHMARK_ITEMS, linearTime / BENCHMARK_ITERATIONS, samplerTime / BENCHMARK_ITERATIONS);
+        assertEquals(0, selected);
+    }
+
+    /**
+     * Selection done by User#launchQuestions(int).
+     */
+    private static List<Question> exponentialKeySelection(List<Question> questions, int amount, Random random) {
+        LocalDate today = LocalDate.now();
+        double[] weights = new double[questions.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = questions.get(i).daysSinceLastAnswer(today) + 1.0;
+        }
+        return WeightedSampler.sample(questions, weights, amount, random);
+    }
+
+    /**
+     * Selection previously implemented by User, kept as the benchmark baseline.
+     */
+    private static List<Question> linearSelection(List<Question> candidates, int amount) {
+        List<Question> selection = new ArrayList<>();
+        List<Question> questions = new ArrayList<>(candidates);
+        long totalWeight = 0;
+        for (Question question : questions) {
+            totalWeight += question.daysSinceLastAnswer() + 1;
+        }
+        double random;
+        for (int i = 0; i < amount; i++) {
+            random = Math.random() * totalWeight;
+            for (Question question : questions) {
+                random -= question.daysSinceLastAnswer() + 1;
+                if (random <= 0.0d) {
+                    selection.add(question);
+                    questions.remove(question);
+                    totalWeight -= question.daysSinceLastAnswer() + 1;
+                    break;
+                }
+            }
+        }
+        return selection;
+    }
+
+}
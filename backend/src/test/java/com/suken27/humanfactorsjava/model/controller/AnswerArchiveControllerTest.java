@@ -0,0 +1,71 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suken27.humanfactorsjava.model.HumanFactor;
+import com.suken27.humanfactorsjava.model.Question;
+import com.suken27.humanfactorsjava.model.TeamManager;
+import com.suken27.humanfactorsjava.model.dto.AnswerHistoryDto;
+import com.suken27.humanfactorsjava.model.dto.TeamManagerDto;
+import com.suken27.humanfactorsjava.model.exception.QuestionNotFoundException;
+import com.suken27.humanfactorsjava.repository.ArchivedAnswerRepository;
+import com.suken27.humanfactorsjava.repository.QuestionRepository;
+import com.suken27.humanfactorsjava.repository.TeamManagerRepository;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest(properties = "com.suken27.humanfactors.answers.archival.keptAnswers=" + AnswerArchiveControllerTest.KEPT_ANSWERS)
+public class AnswerArchiveControllerTest {
+
+    static final int KEPT_ANSWERS = 5;
+
+    private static final String TEAM_MANAGER_EMAIL = "teamManager@test.test";
+    private static final String TEAM_MANAGER_PASSWORD = "teamManagerPassword";
+    private static final int ANSWERS = 8;
+
+    @Test
+    @Transactional
+    void testArchivalKeepsLatestAnswers(@Autowired ModelController modelController,
+            @Autowired AnswerArchiveController answerArchiveController,
+            @Autowired TeamManagerRepository teamManagerRepository,
+            @Autowired QuestionRepository questionRepository,
+            @Autowired ArchivedAnswerRepository archivedAnswerRepository,
+            @Autowired EntityManager entityManager) throws SchedulerException {
+        TeamManagerDto teamManagerDto = modelController.registerTeamManager(TEAM_MANAGER_EMAIL, TEAM_MANAGER_PASSWORD);
+        TeamManager teamManager = teamManagerRepository.findById(teamManagerDto.getId()).orElseThrow();
+        HumanFactor humanFactor = teamManager.getHumanFactors().stream().filter(HumanFactor::canBeMeasured)
+                .findFirst().orElseThrow();
+        Question question = humanFactor.getQuestions().get(0);
+        for (int i = 0; i < ANSWERS; i++) {
+            question.answer(i / (double) ANSWERS);
+        }
+        teamManagerRepository.save(teamManager);
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(ANSWERS - KEPT_ANSWERS, answerArchiveController.archiveAnswers());
+        assertEquals(0, answerArchiveController.archiveAnswers());
+        entityManager.clear();
+        Long questionId = question.getId();
+        assertEquals(KEPT_ANSWERS, questionRepository.findById(questionId).orElseThrow().getAnswers().size());
+        assertEquals(ANSWERS - KEPT_ANSWERS, archivedAnswerRepository.countByQuestionId(questionId));
+        List<AnswerHistoryDto> history = new ArrayList<>();
+        answerArchiveController.streamAnswerHistory(TEAM_MANAGER_EMAIL, questionId, history::add);
+        assertEquals(ANSWERS, history.size());
+        for (int i = 0; i < ANSWERS; i++) {
+            assertEquals(i < ANSWERS - KEPT_ANSWERS, history.get(i).isArchived());
+            assertFalse(i > 0 && history.get(i).getCreationTime().isBefore(history.get(i - 1).getCreationTime()));
+        }
+        assertThrows(QuestionNotFoundException.class,
+                () -> answerArchiveController.streamAnswerHistory(TEAM_MANAGER_EMAIL, -1L, history::add));
+    }
+
+}
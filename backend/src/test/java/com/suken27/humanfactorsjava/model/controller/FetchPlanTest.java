@@ -0,0 +1,112 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suken27.humanfactorsjava.model.HumanFactor;
+import com.suken27.humanfactorsjava.model.Question;
+import com.suken27.humanfactorsjava.model.TeamManager;
+import com.suken27.humanfactorsjava.repository.TeamManagerRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks that the fetch plan of each use case does not load the team with one
+ * statement per member.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Slf4j
+public class FetchPlanTest {
+
+    private static final String TEAM_MANAGER_EMAIL = "teamManager@test.test";
+    private static final String TEAM_MANAGER_PASSWORD = "teamManagerPassword";
+    private static final int ADDED_MEMBERS = 5;
+
+    @Autowired
+    private ModelController modelController;
+
+    @Autowired
+    private TeamManagerRepository teamManagerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static class StatementCounts {
+        long team;
+        long dashboard;
+        long export;
+        long launch;
+        long answer;
+        long answerUpdates;
+    }
+
+    private long entityUpdates;
+
+    @Test
+    @Transactional
+    void testStatementsDoNotGrowWithTeamSize() throws SchedulerException {
+        modelController.registerTeamManager(TEAM_MANAGER_EMAIL, TEAM_MANAGER_PASSWORD);
+        modelController.addTeamMember(TEAM_MANAGER_EMAIL, "member0@test.test", null);
+        StatementCounts small = countStatements();
+        for (int i = 1; i <= ADDED_MEMBERS; i++) {
+            modelController.addTeamMember(TEAM_MANAGER_EMAIL, "member" + i + "@test.test", null);
+        }
+        StatementCounts large = countStatements();
+        // Reads that do not need the members' human factors do not depend on the
+        // team size at all
+        assertEquals(small.team, large.team);
+        assertEquals(small.dashboard, large.dashboard);
+        assertEquals(small.export, large.export);
+        // The human factors and questions of every member are loaded with a fixed
+        // amount of subselects, and their oldest questions in batches
+        assertTrue(large.launch - small.launch < ADDED_MEMBERS);
+        assertTrue(large.answer - small.answer < ADDED_MEMBERS);
+        // Answers only write the answered question, its human factor and the team
+        assertEquals(small.answerUpdates, large.answerUpdates);
+    }
+
+    private StatementCounts countStatements() {
+        StatementCounts counts = new StatementCounts();
+        counts.team = countStatements(() -> modelController.getTeam(TEAM_MANAGER_EMAIL));
+        counts.dashboard = countStatements(() -> modelController.getAllHumanFactors(TEAM_MANAGER_EMAIL));
+        counts.export = countStatements(() -> modelController.getRecommendedActions(TEAM_MANAGER_EMAIL));
+        counts.launch = countStatements(() -> modelController.launchQuestions(TEAM_MANAGER_EMAIL));
+        Long questionId = findMeasurableQuestion().getId();
+        counts.answer = countStatements(() -> modelController.answerQuestion(TEAM_MANAGER_EMAIL, questionId, 0.5));
+        counts.answerUpdates = entityUpdates;
+        log.info("Statements for team, dashboard, export, launch and answer: {}, {}, {}, {}, {} ({} entity updates)",
+                counts.team, counts.dashboard, counts.export, counts.launch, counts.answer, counts.answerUpdates);
+        return counts;
+    }
+
+    private long countStatements(Runnable useCase) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        useCase.run();
+        entityManager.flush();
+        entityUpdates = statistics.getEntityUpdateCount();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Question findMeasurableQuestion() {
+        TeamManager teamManager = teamManagerRepository.findByEmail(TEAM_MANAGER_EMAIL);
+        return teamManager.getHumanFactors().stream().filter(HumanFactor::canBeMeasured).findFirst().orElseThrow()
+                .getQuestions().get(0);
+    }
+
+}
@@ -2,22 +2,40 @@ package com.suken27.humanfactorsjava.model.controller;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.quartz.SchedulerException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.suken27.humanfactorsjava.model.HumanFactor;
 import com.suken27.humanfactorsjava.model.HumanFactorType;
+import com.suken27.humanfactorsjava.model.Question;
+import com.suken27.humanfactorsjava.model.Team;
 import com.suken27.humanfactorsjava.model.TeamHumanFactor;
 import com.suken27.humanfactorsjava.model.TeamManager;
+import com.suken27.humanfactorsjava.model.User;
 import com.suken27.humanfactorsjava.model.dto.ActionDto;
+import com.suken27.humanfactorsjava.model.dto.AnswerDto;
+import com.suken27.humanfactorsjava.model.dto.HumanFactorDto;
+import com.suken27.humanfactorsjava.model.dto.MemberImportDto;
+import com.suken27.humanfactorsjava.model.dto.TeamDto;
 import com.suken27.humanfactorsjava.model.dto.TeamManagerDto;
+import com.suken27.humanfactorsjava.model.exception.TeamMemberNotFoundException;
 import com.suken27.humanfactorsjava.repository.TeamManagerRepository;
+import com.suken27.humanfactorsjava.repository.TeamRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,6 +45,8 @@ public class ModelControllerTest {
 
     private static final String TEAM_MANAGER_EMAIL = "teamManager@test.test";
     private static final String TEAM_MANAGER_PASSWORD = "teamManagerPassword";
+    private static final int CONCURRENT_MEMBERS = 4;
+    private static final int CONCURRENT_WRITERS = 8;
 
     @Test
     @Transactional
@@ -42,6 +62,24 @@ public class ModelControllerTest {
 		assertNotNull(answerText);
     }
 
+    @Test
+    @Transactional
+    void testAnswerQuestions(@Autowired ModelController modelController, @Autowired TeamManagerRepository teamManagerRepository) throws SchedulerException {
+        TeamManagerDto teamManagerDto = modelController.registerTeamManager(TEAM_MANAGER_EMAIL, TEAM_MANAGER_PASSWORD);
+        Optional<TeamManager> optional = teamManagerRepository.findById(teamManagerDto.getId());
+        assertTrue(optional.isPresent());
+        TeamManager teamManager = optional.get();
+        List<AnswerDto> answers = new ArrayList<>();
+        for (Question question : teamManager.getHumanFactors().get(0).getQuestions()) {
+            answers.add(new AnswerDto(TEAM_MANAGER_EMAIL, question.getId(), 0.5));
+        }
+        List<String> answerTexts = modelController.answerQuestions(TEAM_MANAGER_EMAIL, answers);
+        assertEquals(answers.size(), answerTexts.size());
+        answerTexts.forEach(Assertions::assertNotNull);
+        assertThrows(TeamMemberNotFoundException.class, () -> modelController.answerQuestions(TEAM_MANAGER_EMAIL,
+                List.of(new AnswerDto("notInTeam@test.test", answers.get(0).getQuestionId(), 0.5))));
+    }
+
     @Test
     @Transactional
     void testGetRecommendedActions(@Autowired ModelController modelController, @Autowired TeamManagerRepository teamManagerRepository) throws SchedulerException {
@@ -64,4 +102,111 @@ public class ModelControllerTest {
             log.info(actionDto.toString());
         }
     }
+
+    @Test
+    @Transactional
+    void testAddTeamMembers(@Autowired ModelController modelController) throws Exception {
+        modelController.registerTeamManager(TEAM_MANAGER_EMAIL, TEAM_MANAGER_PASSWORD);
+        modelController.addTeamMember(TEAM_MANAGER_EMAIL, "existing@test.test", null);
+        Map<String, String> members = new LinkedHashMap<>();
+        members.put("existing@test.test", null);
+        members.put(TEAM_MANAGER_EMAIL, null);
+        for (int i = 0; i < 20; i++) {
+            members.put("member" + i + "@test.test", "U" + i);
+        }
+        MemberImportDto result = modelController.addTeamMembers(TEAM_MANAGER_EMAIL, members);
+        assertEquals(20, result.getAdded().size());
+        assertEquals(List.of("existing@test.test", TEAM_MANAGER_EMAIL), result.getAlreadyInTeam());
+        assertTrue(result.getInAnotherTeam().isEmpty());
+        assertEquals(21, result.getTeam().getMembers().size());
+        assertEquals("U0", result.getTeam().getMembers().stream()
+                .filter(member -> member.getEmail().equals("member0@test.test")).findFirst().orElseThrow().getSlackId());
+    }
+
+    @Test
+    @Transactional
+    void testDashboardProjectionsMatchEntities(@Autowired ModelController modelController,
+            @Autowired TeamRepository teamRepository) throws SchedulerException {
+        modelController.registerTeamManager(TEAM_MANAGER_EMAIL, TEAM_MANAGER_PASSWORD);
+        modelController.addTeamMember(TEAM_MANAGER_EMAIL, "member@test.test", null);
+        Team team = teamRepository.findByTeamManagerEmail(TEAM_MANAGER_EMAIL);
+        assertEquals(new TeamDto(team), modelController.getTeam(TEAM_MANAGER_EMAIL));
+        Map<Long, HumanFactorDto> expected = new LinkedHashMap<>();
+        for (HumanFactorDto humanFactor : HumanFactorDto.toDto(team)) {
+            expected.put(humanFactor.getId(), humanFactor);
+        }
+        List<HumanFactorDto> humanFactors = modelController.getAllHumanFactors(TEAM_MANAGER_EMAIL);
+        assertEquals(expected.size(), humanFactors.size());
+        for (HumanFactorDto humanFactor : humanFactors) {
+            assertEquals(expected.get(humanFactor.getId()), humanFactor);
+            assertEquals(humanFactor, modelController.getHumanFactor(TEAM_MANAGER_EMAIL, humanFactor.getId()));
+        }
+    }
+
+    /**
+     * Answers every question of every user of a team from several threads at once,
+     * so the answers of the same team conflict, and checks that no answer and no
+     * user score is lost.
+     */
+    @Test
+    void testConcurrentAnswersToOneTeamAreAllWritten(@Autowired ModelController modelController,
+            @Autowired TeamManagerRepository teamManagerRepository, @Autowired TeamRepository teamRepository,
+            @Autowired TransactionTemplate transactionTemplate) throws Exception {
+        modelController.registerTeamManager(TEAM_MANAGER_EMAIL, TEAM_MANAGER_PASSWORD);
+        try {
+            Map<String, String> members = new LinkedHashMap<>();
+            for (int i = 0; i < CONCURRENT_MEMBERS; i++) {
+                members.put("concurrent" + i + "@test.test", null);
+            }
+            modelController.addTeamMembers(TEAM_MANAGER_EMAIL, members);
+            Random random = new Random(27);
+            List<AnswerDto> answers = transactionTemplate.execute(status -> {
+                List<AnswerDto> all = new ArrayList<>();
+                for (User user : teamRepository.findForAnswerByTeamManagerEmail(TEAM_MANAGER_EMAIL).getAllMembers()) {
+                    for (HumanFactor humanFactor : user.getHumanFactors()) {
+                        for (Question question : humanFactor.getQuestions()) {
+                            all.add(new AnswerDto(user.getEmail(), question.getId(), random.nextInt(5) / 4.0));
+                        }
+                    }
+                }
+                return all;
+            });
+            assertFalse(answers.isEmpty());
+            ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_WRITERS);
+            try {
+                List<Future<String>> writes = new ArrayList<>();
+                for (AnswerDto answer : answers) {
+                    writes.add(executor.submit(() -> modelController.answerQuestion(answer.getUserEmail(),
+                            answer.getQuestionId(), answer.getAnswer())));
+                }
+                for (Future<String> write : writes) {
+                    assertNotNull(write.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Team team = teamRepository.findForAnswerByTeamManagerEmail(TEAM_MANAGER_EMAIL);
+                int answerRows = 0;
+                for (User user : team.getAllMembers()) {
+                    for (HumanFactor humanFactor : user.getHumanFactors()) {
+                        for (Question question : humanFactor.getQuestions()) {
+                            answerRows += question.getAnswers().size();
+                        }
+                    }
+                }
+                assertEquals(answers.size(), answerRows);
+                assertTrue(team.verifyUserScoreAggregates());
+                for (TeamHumanFactor humanFactor : team.getHumanFactors().values()) {
+                    if (!humanFactor.getType().getQuestionTypes().isEmpty()) {
+                        int users = humanFactor.getType().isMemberMeasured() ? CONCURRENT_MEMBERS + 1 : 1;
+                        assertEquals(users, humanFactor.getUserScoreCount());
+                    }
+                }
+            });
+        } finally {
+            teamManagerRepository.delete(teamManagerRepository.findByEmail(TEAM_MANAGER_EMAIL));
+        }
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.suken27.humanfactorsjava.model.Action;
+import com.suken27.humanfactorsjava.model.ActionType;
+import com.suken27.humanfactorsjava.model.dto.ActionDto;
+
+public class RecommendedActionCacheTest {
+
+    private static final Long TEAM_ID = 1L;
+    private static final long CATALOG_VERSION = 1;
+
+    @Test
+    void testRankingIsOnlyValidForItsVersion() {
+        RecommendedActionCache cache = new RecommendedActionCache();
+        assertNull(cache.get(TEAM_ID, 1, CATALOG_VERSION, 10));
+        cache.put(TEAM_ID, 1, CATALOG_VERSION, ranking(0.9, 0.5, 0.1));
+        List<ActionDto> actions = cache.get(TEAM_ID, 1, CATALOG_VERSION, 10);
+        assertEquals(List.of(0L, 1L, 2L), actions.stream().map(ActionDto::getId).toList());
+        assertEquals(0.9, actions.get(0).getScore());
+        assertEquals(2, cache.get(TEAM_ID, 1, CATALOG_VERSION, 2).size());
+        // A new version of the team or the catalog needs a new ranking
+        assertNull(cache.get(TEAM_ID, 2, CATALOG_VERSION, 10));
+        assertNull(cache.get(TEAM_ID, 1, CATALOG_VERSION + 1, 10));
+        assertNull(cache.get(2L, 1, CATALOG_VERSION, 10));
+    }
+
+    @Test
+    void testOlderRankingDoesNotReplaceNewerOne() {
+        RecommendedActionCache cache = new RecommendedActionCache();
+        cache.put(TEAM_ID, 2, CATALOG_VERSION, ranking(0.3));
+        cache.put(TEAM_ID, 1, CATALOG_VERSION, ranking(0.7));
+        assertNull(cache.get(TEAM_ID, 1, CATALOG_VERSION, 10));
+        assertEquals(0.3, cache.get(TEAM_ID, 2, CATALOG_VERSION, 10).get(0).getScore());
+    }
+
+    @Test
+    void testReturnedActionsAreCopies() {
+        RecommendedActionCache cache = new RecommendedActionCache();
+        cache.put(TEAM_ID, 1, CATALOG_VERSION, ranking(0.6));
+        cache.get(TEAM_ID, 1, CATALOG_VERSION, 10).get(0).setScore(0.0);
+        assertEquals(0.6, cache.get(TEAM_ID, 1, CATALOG_VERSION, 10).get(0).getScore());
+    }
+
+    private static Map<Action, Double> ranking(double... recommendations) {
+        Map<Action, Double> ranking = new LinkedHashMap<>();
+        for (int i = 0; i < recommendations.length; i++) {
+            ActionType type = new ActionType();
+            type.setTitle("Action " + i);
+            Action action = new Action(type);
+            action.setId((long) i);
+            ranking.put(action, recommendations[i]);
+        }
+        return ranking;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suken27.humanfactorsjava.model.ScoreHistoryGranularity;
+import com.suken27.humanfactorsjava.model.TeamManager;
+import com.suken27.humanfactorsjava.model.dto.ScoreHistoryDto;
+import com.suken27.humanfactorsjava.model.dto.TeamManagerDto;
+import com.suken27.humanfactorsjava.repository.TeamManagerRepository;
+
+@SpringBootTest
+public class ScoreSnapshotControllerTest {
+
+    private static final String TEAM_MANAGER_EMAIL = "teamManager@test.test";
+    private static final String TEAM_MANAGER_PASSWORD = "teamManagerPassword";
+
+    @Test
+    @Transactional
+    void testHistoryRollUp(@Autowired ModelController modelController,
+            @Autowired ScoreSnapshotController scoreSnapshotController,
+            @Autowired TeamManagerRepository teamManagerRepository) throws SchedulerException {
+        TeamManagerDto teamManagerDto = modelController.registerTeamManager(TEAM_MANAGER_EMAIL, TEAM_MANAGER_PASSWORD);
+        TeamManager teamManager = teamManagerRepository.findById(teamManagerDto.getId()).orElseThrow();
+        Long humanFactorId = teamManager.getTeam().getHumanFactors().values().iterator().next().getId();
+        // Monday and Tuesday of the same week, and the Monday of the next one
+        LocalDate monday = LocalDate.of(2023, 9, 4);
+        assertTrue(scoreSnapshotController.takeSnapshots(monday) > 0);
+        assertEquals(0, scoreSnapshotController.takeSnapshots(monday));
+        scoreSnapshotController.takeSnapshots(monday.plusDays(1));
+        scoreSnapshotController.takeSnapshots(monday.plusWeeks(1));
+        List<ScoreHistoryDto> daily = scoreSnapshotController.getHistory(TEAM_MANAGER_EMAIL, humanFactorId, monday,
+                monday.plusWeeks(1), ScoreHistoryGranularity.DAY);
+        assertEquals(3, daily.size());
+        List<ScoreHistoryDto> weekly = scoreSnapshotController.getHistory(TEAM_MANAGER_EMAIL, humanFactorId, monday,
+                monday.plusWeeks(1), ScoreHistoryGranularity.WEEK);
+        assertEquals(2, weekly.size());
+        assertEquals(monday, weekly.get(0).getPeriodStart());
+        assertEquals(2, weekly.get(0).getDays());
+        List<ScoreHistoryDto> monthly = scoreSnapshotController.getHistory(TEAM_MANAGER_EMAIL, humanFactorId, monday,
+                monday.plusWeeks(1), ScoreHistoryGranularity.MONTH);
+        assertEquals(1, monthly.size());
+        assertEquals(LocalDate.of(2023, 9, 1), monthly.get(0).getPeriodStart());
+        assertEquals(3, monthly.get(0).getDays());
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.suken27.humanfactorsjava.model.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class TeamWriteLocksTest {
+
+    private static final int STRIPES = 256;
+    private static final int WRITES_PER_TEAM = 100;
+    private static final int WRITERS_PER_TEAM = 4;
+    private static final int TEAMS = 8;
+    private static final long WRITE_MILLIS = 2;
+
+    /**
+     * State of a team, updated with a read, a pause and a write, so concurrent
+     * updates of the same team would overwrite each other.
+     */
+    private static class TeamState {
+        long answers;
+        final AtomicInteger writers = new AtomicInteger();
+        volatile boolean overlapped;
+    }
+
+    @Test
+    void testNoLostUpdates() throws Exception {
+        TeamWriteLocks locks = new TeamWriteLocks(STRIPES);
+        TeamState[] teams = run(locks, TEAMS);
+        for (TeamState team : teams) {
+            assertEquals(WRITES_PER_TEAM, team.answers);
+            assertFalse(team.overlapped);
+        }
+    }
+
+    @Test
+    void testTeamsAreWrittenInParallel() throws Exception {
+        TeamWriteLocks locks = new TeamWriteLocks(STRIPES);
+        // Warm up
+        run(locks, 1);
+        long start = System.nanoTime();
+        run(locks, 1);
+        long oneTeam = System.nanoTime() - start;
+        start = System.nanoTime();
+        run(locks, TEAMS);
+        long allTeams = System.nanoTime() - start;
+        log.info("{} writes to 1 team: {} ms, to {} teams: {} ms", WRITES_PER_TEAM, oneTeam / 1000000, TEAMS,
+                allTeams / 1000000);
+        // Each team takes as long as a single team, as it only waits for its own
+        // writes
+        assertTrue(allTeams < 2 * oneTeam);
+    }
+
+    private TeamState[] run(TeamWriteLocks locks, int teamAmount) throws Exception {
+        TeamState[] teams = new TeamState[teamAmount];
+        for (int i = 0; i < teamAmount; i++) {
+            teams[i] = new TeamState();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(teamAmount * WRITERS_PER_TEAM);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int write = 0; write < WRITES_PER_TEAM; write++) {
+                for (int team = 0; team < teamAmount; team++) {
+                    TeamState state = teams[team];
+                    long teamId = team + 1L;
+                    writes.add(executor.submit(() -> locks.write(teamId, () -> increment(state))));
+                }
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return teams;
+    }
+
+    private long increment(TeamState team) {
+        if (team.writers.incrementAndGet() > 1) {
+            team.overlapped = true;
+        }
+        long answers = team.answers;
+        try {
+            Thread.sleep(WRITE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        team.answers = answers + 1;
+        team.writers.decrementAndGet();
+        return team.answers;
+    }
+
+}
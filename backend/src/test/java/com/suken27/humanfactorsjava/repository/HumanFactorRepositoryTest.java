@@ -0,0 +1,65 @@
+package com.suken27.humanfactorsjava.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.suken27.humanfactorsjava.model.HumanFactor;
+import com.suken27.humanfactorsjava.model.HumanFactorFactory;
+import com.suken27.humanfactorsjava.model.Question;
+import com.suken27.humanfactorsjava.model.TeamMember;
+
+import jakarta.transaction.Transactional;
+
+@SpringBootTest
+public class HumanFactorRepositoryTest {
+
+    private final static String TEST_TEAM_MEMBER_EMAIL = "testMember@test.test";
+
+    @Autowired
+    private HumanFactorRepository repository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private HumanFactorFactory humanFactorFactory;
+
+    @Test
+    @Transactional
+    void testFindByQuestionIdFetchQuestions() {
+        TeamMember teamMember = new TeamMember(humanFactorFactory);
+        teamMember.setEmail(TEST_TEAM_MEMBER_EMAIL);
+        teamMember = teamMemberRepository.save(teamMember);
+        HumanFactor humanFactor = teamMember.getHumanFactors().stream().filter(HumanFactor::canBeMeasured)
+                .findFirst().orElseThrow();
+        Question question = humanFactor.getQuestions().get(humanFactor.getQuestions().size() - 1);
+        HumanFactor result = repository.findByQuestionIdFetchQuestions(question.getId());
+        assertNotNull(result);
+        assertEquals(humanFactor.getId(), result.getId());
+        assertEquals(humanFactor.getQuestions().size(), result.getQuestions().size());
+        assertNull(repository.findByQuestionIdFetchQuestions(-1L));
+        teamMemberRepository.delete(teamMember);
+    }
+
+    @Test
+    @Transactional
+    void testFindOwnerEmail() {
+        TeamMember teamMember = new TeamMember(humanFactorFactory);
+        teamMember.setEmail(TEST_TEAM_MEMBER_EMAIL);
+        teamMember = teamMemberRepository.save(teamMember);
+        HumanFactor humanFactor = teamMember.getHumanFactors().get(0);
+        assertEquals(TEST_TEAM_MEMBER_EMAIL, repository.findOwnerEmail(humanFactor.getId()));
+        List<Object[]> owners = repository.findOwnerEmails(List.of(humanFactor.getId()));
+        assertEquals(1, owners.size());
+        assertEquals(humanFactor.getId(), owners.get(0)[0]);
+        assertEquals(TEST_TEAM_MEMBER_EMAIL, owners.get(0)[1]);
+        assertNull(repository.findOwnerEmail(-1L));
+        teamMemberRepository.delete(teamMember);
+    }
+
+}
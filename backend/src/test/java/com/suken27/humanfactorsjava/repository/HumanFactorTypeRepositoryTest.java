@@ -4,23 +4,34 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suken27.humanfactorsjava.config.CatalogSeeder;
 
 import com.suken27.humanfactorsjava.model.ActionType;
 import com.suken27.humanfactorsjava.model.BibliographicSource;
 import com.suken27.humanfactorsjava.model.HumanFactorType;
 import com.suken27.humanfactorsjava.model.QuestionType;
 
-@SpringBootTest
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class HumanFactorTypeRepositoryTest {
 
     @Autowired
     private HumanFactorTypeRepository repository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private static final Logger logger = LoggerFactory.getLogger(HumanFactorTypeRepositoryTest.class);
 
     @Test
@@ -112,4 +123,34 @@ public class HumanFactorTypeRepositoryTest {
         }
     }
 
+    @Test
+    void testCatalogIsCached() {
+        Long id = repository.findAll().get(0).getId();
+        repository.findById(id);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        HumanFactorType humanFactorType = repository.findById(id).orElseThrow();
+        assertNotNull(humanFactorType.getTitle());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional
+    void testCatalogSeedingAppliesOnlyChanges(@Autowired CatalogSeeder catalogSeeder,
+            @Autowired JdbcTemplate jdbcTemplate) {
+        // The catalog was applied on startup
+        assertEquals(0, catalogSeeder.seed());
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM human_factor_type", Long.class);
+        int removedAssociations = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM human_factor_type_question_types WHERE human_factor_type_id = ?", Integer.class, id);
+        jdbcTemplate.update("UPDATE human_factor_type SET title = 'Changed' WHERE id = ?", id);
+        jdbcTemplate.update("DELETE FROM human_factor_type_question_types WHERE human_factor_type_id = ?", id);
+        jdbcTemplate.update("DELETE FROM catalog_checksum");
+        assertEquals(1 + removedAssociations, catalogSeeder.seed());
+        assertNotEquals("Changed",
+                jdbcTemplate.queryForObject("SELECT title FROM human_factor_type WHERE id = ?", String.class, id));
+        assertEquals(0, catalogSeeder.seed());
+    }
+
 }
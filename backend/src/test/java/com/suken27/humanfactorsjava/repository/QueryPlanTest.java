@@ -0,0 +1,103 @@
+package com.suken27.humanfactorsjava.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.suken27.humanfactorsjava.config.SchemaMigrations;
+import com.suken27.humanfactorsjava.model.HumanFactorFactory;
+import com.suken27.humanfactorsjava.model.Team;
+import com.suken27.humanfactorsjava.model.TeamManager;
+import com.suken27.humanfactorsjava.model.TeamMember;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks on an H2 database in MySQL mode that the schema migrations create the
+ * indexes of the frequent queries and that their plans use them.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.driver-class-name=org.h2.Driver", "spring.datasource.username=sa",
+        "spring.datasource.password=", "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect" })
+@Slf4j
+public class QueryPlanTest {
+
+    private static final String EMAIL = "teamManager@test.test";
+
+    @Test
+    void testMigrationsAreAppliedOnce(@Autowired SchemaMigrations schemaMigrations,
+            @Autowired JdbcTemplate jdbcTemplate) {
+        assertEquals(0, schemaMigrations.migrate());
+        List<Integer> versions = jdbcTemplate.queryForList("SELECT version FROM schema_version ORDER BY version",
+                Integer.class);
+        assertEquals(List.of(1, 2), versions);
+    }
+
+    @Test
+    void testUserLookupsUseIndexes(@Autowired JdbcTemplate jdbcTemplate) {
+        assertPlanUses(jdbcTemplate, "idx_users_email_lookup",
+                "SELECT id FROM users WHERE email = ? AND user_type = 'TeamManager'", EMAIL);
+        assertPlanUses(jdbcTemplate, "idx_users_email_lookup",
+                "SELECT id FROM users WHERE email = ? AND user_type = 'TeamMember' AND deleted = false", EMAIL);
+        assertPlanUses(jdbcTemplate, "idx_users_email_lookup",
+                "SELECT COALESCE(team_id, managed_team_id) FROM users WHERE email = ? "
+                        + "AND (team_id IS NOT NULL OR managed_team_id IS NOT NULL)",
+                EMAIL);
+        assertPlanUses(jdbcTemplate, "idx_users_team_type",
+                "SELECT id FROM users WHERE team_id = ? AND user_type = 'TeamMember'", 1L);
+    }
+
+    @Test
+    void testManagerAndMembersOfTheSameTeamAreStored(@Autowired TeamManagerRepository teamManagerRepository,
+            @Autowired TeamRepository teamRepository, @Autowired HumanFactorFactory humanFactorFactory,
+            @Autowired JdbcTemplate jdbcTemplate) {
+        TeamManager teamManager = new TeamManager(humanFactorFactory);
+        teamManager.setEmail(EMAIL);
+        teamManager.setPassword("testPassword");
+        teamManager = teamManagerRepository.save(teamManager);
+        Team team = teamRepository.findForAnswerByTeamManagerEmail(EMAIL);
+        for (String email : List.of("firstMember@test.test", "secondMember@test.test")) {
+            TeamMember teamMember = new TeamMember(humanFactorFactory);
+            teamMember.setEmail(email);
+            teamMember.setTeam(team);
+            team.addMember(teamMember);
+        }
+        team = teamRepository.save(team);
+        try {
+            assertEquals(2, (int) jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE team_id = ?",
+                    Integer.class, team.getId()));
+            assertEquals(1, (int) jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE managed_team_id = ?",
+                    Integer.class, team.getId()));
+            assertEquals(team.getId(), teamRepository.findIdByMemberEmail(EMAIL));
+            assertEquals(team.getId(), teamRepository.findIdByMemberEmail("secondMember@test.test"));
+            assertEquals(2, teamRepository.findByTeamManagerEmail(EMAIL).getMembers().size());
+        } finally {
+            teamManagerRepository.delete(teamManagerRepository.findByEmail(EMAIL));
+        }
+    }
+
+    @Test
+    void testAssociationsUseIndexes(@Autowired JdbcTemplate jdbcTemplate) {
+        assertPlanUses(jdbcTemplate, "idx_users_human_factors_user",
+                "SELECT human_factors_id FROM users_human_factors WHERE user_id = ?", 1L);
+        assertPlanUses(jdbcTemplate, "idx_human_factor_questions_owner",
+                "SELECT questions_id FROM human_factor_questions WHERE human_factor_id = ?", 1L);
+        assertPlanUses(jdbcTemplate, "idx_team_human_factor_actions_owner",
+                "SELECT actions_id FROM team_human_factor_actions WHERE team_human_factor_id = ?", 1L);
+        assertPlanUses(jdbcTemplate, "idx_question_answers_question",
+                "SELECT answers_id FROM question_answers WHERE question_id = ?", 1L);
+    }
+
+    private void assertPlanUses(JdbcTemplate jdbcTemplate, String index, String query, Object parameter) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class, parameter);
+        log.info("Plan of [{}]: {}", query, plan);
+        assertTrue(plan.toLowerCase().contains(index), plan);
+    }
+
+}
@@ -2,21 +2,35 @@ package com.suken27.humanfactorsjava.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.suken27.humanfactorsjava.config.UserTableMigration;
 
+import com.suken27.humanfactorsjava.model.HumanFactor;
 import com.suken27.humanfactorsjava.model.HumanFactorFactory;
+import com.suken27.humanfactorsjava.model.ScoreMatrix;
 import com.suken27.humanfactorsjava.model.Team;
 import com.suken27.humanfactorsjava.model.TeamManager;
+import com.suken27.humanfactorsjava.model.controller.ModelController;
 
 import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
 
 @SpringBootTest
+@Slf4j
 public class TeamRepositoryTest {
 
+    private final static int LATENCY_ITERATIONS = 200;
+
     private final static String TEST_TEAM_MANAGER_EMAIL = "testTeamManager@test.test";
     private final static String TEST_TEAM_MANAGER_PASSWORD = "testPassword";
 
@@ -55,4 +69,58 @@ public class TeamRepositoryTest {
         assertEquals(TEST_TEAM_MANAGER_EMAIL, team.getManager().getEmail());
     }
 
+    @Test
+    void testUserLookupsUseIndexes(@Autowired JdbcTemplate jdbcTemplate,
+            @Autowired UserTableMigration userTableMigration) {
+        // Legacy tables are migrated on startup, so migrating again does nothing
+        assertEquals(0, userTableMigration.migrate());
+        for (String query : List.of("SELECT id FROM users WHERE email = ?",
+                "SELECT id FROM users WHERE team_id = ?")) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query,
+                    query.contains("email") ? TEST_TEAM_MANAGER_EMAIL : teamManager.getTeam().getId());
+            log.info("Plan of [{}]: {}", query, plan);
+            assertEquals(1, plan.size());
+            assertNotNull(plan.get(0).get("key"));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LATENCY_ITERATIONS; i++) {
+            assertNotNull(teamManagerRepository.findByEmail(TEST_TEAM_MANAGER_EMAIL));
+        }
+        long loginTime = (System.nanoTime() - start) / LATENCY_ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < LATENCY_ITERATIONS; i++) {
+            assertNotNull(teamRepository.findByMemberEmail(TEST_TEAM_MANAGER_EMAIL));
+        }
+        long answerTime = (System.nanoTime() - start) / LATENCY_ITERATIONS;
+        log.info("Login lookup {} ns, answer team lookup {} ns", loginTime, answerTime);
+    }
+
+    @Test
+    void testScoreMatrixIsReloaded(@Autowired ModelController modelController,
+            @Autowired TransactionTemplate transactionTemplate, @Autowired JdbcTemplate jdbcTemplate) {
+        Long questionId = transactionTemplate.execute(status -> teamManagerRepository
+                .findByEmail(TEST_TEAM_MANAGER_EMAIL).getHumanFactors().stream().filter(HumanFactor::canBeMeasured)
+                .findFirst().orElseThrow().getQuestions().get(0).getId());
+        modelController.answerQuestion(TEST_TEAM_MANAGER_EMAIL, questionId, 0.75);
+        Long teamId = teamManager.getTeam().getId();
+        ScoreMatrix loaded = transactionTemplate.execute(status -> {
+            Team team = teamRepository.findForAnswerById(teamId);
+            assertTrue(team.verifyUserScoreAggregates());
+            return team.getHumanFactorUserScores();
+        });
+        assertNotNull(loaded);
+        byte[] stored = jdbcTemplate.queryForObject("SELECT human_factor_user_scores FROM team WHERE id = ?",
+                byte[].class, teamId);
+        assertEquals(loaded, ScoreMatrix.fromBytes(stored));
+        int measured = 0;
+        for (int row = 0; row < loaded.getRows(); row++) {
+            for (int column = 0; column < loaded.getColumns(); column++) {
+                if (!Double.isNaN(loaded.get(row, column))) {
+                    measured++;
+                }
+            }
+        }
+        assertTrue(measured > 0);
+    }
+
 }